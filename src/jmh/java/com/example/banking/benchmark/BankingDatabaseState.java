@@ -0,0 +1,61 @@
+package com.example.banking.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.banking.OnlineBankingApplication;
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.service.ClientService;
+
+/**
+ * The application booted against an in-memory H2 database (profile "jmh")
+ * and seeded with clients whose balances are large enough that benchmark
+ * transfers never run out of funds.
+ */
+@State(Scope.Benchmark)
+public class BankingDatabaseState {
+
+    @Param({ "1000" })
+    public int clients;
+
+    ConfigurableApplicationContext context;
+    ClientService clientService;
+    long[] clientIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(OnlineBankingApplication.class).profiles("jmh").run();
+        clientService = context.getBean(ClientService.class);
+        clientIds = new long[clients];
+        BigDecimal balance = new BigDecimal("1000000000.00");
+        for (int i = 0; i < clients; i++) {
+            Client client = new Client("Client " + i, new Date(0), List.of(email(i)), List.of(phone(i)),
+                    new Account(balance, balance), "bench" + i, "benchmark-password");
+            clientIds[i] = clientService.createClient(client).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    static String phone(int i) {
+        return String.format("%010d", 5_550_000_000L + i);
+    }
+
+    static String email(int i) {
+        return "client" + i + "@bench.example";
+    }
+}
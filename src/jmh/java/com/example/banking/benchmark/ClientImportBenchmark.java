@@ -0,0 +1,75 @@
+package com.example.banking.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.banking.model.ClientImportReport;
+import com.example.banking.service.ClientImportService;
+
+/**
+ * Bulk import of 10,000 NDJSON clients per invocation against the embedded
+ * database, reported as clients per second. Every invocation uses fresh
+ * usernames, so all rows are inserted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ClientImportBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ClientImportService importService;
+    private int invocation;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp(BankingDatabaseState db) {
+        importService = db.context.getBean(ClientImportService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void buildBody() {
+        invocation++;
+        StringBuilder ndjson = new StringBuilder(ROWS * 200);
+        for (int i = 0; i < ROWS; i++) {
+            String id = invocation + "-" + i;
+            ndjson.append("{\"name\":\"Imported ").append(id)
+                    .append("\",\"dateOfBirth\":\"1990-01-01\",\"username\":\"import").append(id)
+                    .append("\",\"password\":\"import-password\",\"phones\":[\"")
+                    .append(String.format("%010d", 7_000_000_000L + invocation * (long) ROWS + i))
+                    .append("\"],\"emails\":[\"import").append(id)
+                    .append("@bench.example\"],\"account\":{\"balance\":100.00,\"initialBalance\":100.00}}\n");
+        }
+        body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ClientImportReport importNdjson() throws IOException {
+        ClientImportReport report = importService.importClients(new ByteArrayInputStream(body),
+                ClientImportService.Format.NDJSON);
+        if (report.getFailed() > 0) {
+            throw new IllegalStateException("Import rejected " + report.getFailed() + " rows: "
+                    + report.getErrors().get(0).getMessage());
+        }
+        return report;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.banking.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.banking.OnlineBankingApplication;
+import com.example.banking.service.ClientService;
+
+/**
+ * Latency of the id-only phone and email lookups at 1,000 and 1,000,000
+ * clients, as sampled percentiles. Each lookup picks a random client, so the
+ * larger directory is not served from a few hot index pages.
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ClientLookupBenchmark {
+
+    /**
+     * The application on the embedded database with a directory of clients,
+     * each with one phone and one email. The rows are inserted with set-based
+     * statements in ranges of SEED_RANGE ids, since a million createClient
+     * calls would take far longer than the measurement.
+     */
+    @State(Scope.Benchmark)
+    public static class ClientDirectory {
+
+        private static final int SEED_RANGE = 100_000;
+        private static final long PHONE_BASE = 5_560_000_000L;
+
+        @Param({ "1000", "1000000" })
+        public int clients;
+
+        ConfigurableApplicationContext context;
+        ClientService clientService;
+
+        @Setup(Level.Trial)
+        public void start() {
+            context = new SpringApplicationBuilder(OnlineBankingApplication.class).profiles("jmh").run();
+            clientService = context.getBean(ClientService.class);
+            JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+            for (long from = 1; from <= clients; from += SEED_RANGE) {
+                long to = Math.min(from + SEED_RANGE - 1, clients);
+                jdbc.update("INSERT INTO Client_details (id, name, name_key, date_of_birth, username, password) "
+                        + "SELECT X, 'Lookup ' || X, 'lookup ' || X, DATE '1980-01-01', 'lookup' || X, 'unused' "
+                        + "FROM SYSTEM_RANGE(?, ?)", from, to);
+                jdbc.update("INSERT INTO client_phones (client_id, phone) "
+                        + "SELECT X, CAST(? + X AS VARCHAR) FROM SYSTEM_RANGE(?, ?)", PHONE_BASE, from, to);
+                jdbc.update("INSERT INTO client_emails (client_id, email) "
+                        + "SELECT X, 'lookup' || X || '@bench.example' FROM SYSTEM_RANGE(?, ?)", from, to);
+            }
+            jdbc.execute("ANALYZE");
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            context.close();
+        }
+
+        String randomPhone() {
+            return String.valueOf(PHONE_BASE + randomId());
+        }
+
+        String randomEmail() {
+            return "lookup" + randomId() + "@bench.example";
+        }
+
+        private long randomId() {
+            return 1 + ThreadLocalRandom.current().nextInt(clients);
+        }
+    }
+
+    @Benchmark
+    public List<Long> lookupByPhone(ClientDirectory directory) {
+        return directory.clientService.findClientIdsByPhone(directory.randomPhone());
+    }
+
+    @Benchmark
+    public List<Long> lookupByEmail(ClientDirectory directory) {
+        return directory.clientService.findClientIdsByEmail(directory.randomEmail());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.banking.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.banking.util.ClientValidation;
+
+/**
+ * Phone and email format checks run by ClientService.createClient, for
+ * well-formed input and for input that is rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ClientValidationBenchmark {
+
+    @Param({ "5551234567", "555-123-4567" })
+    public String phone;
+
+    @Param({ "jane.doe@example.com", "jane.doe.example.com" })
+    public String email;
+
+    @Benchmark
+    public boolean validatePhone() {
+        return ClientValidation.isValidPhone(phone);
+    }
+
+    @Benchmark
+    public boolean validateEmail() {
+        return ClientValidation.isValidEmail(email);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.banking.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.banking.model.TransferResult;
+import com.example.banking.service.ClientService;
+
+/**
+ * Many threads crediting one account, the first seeded client, from
+ * different senders. With stripes = 0 every credit queues on the same row;
+ * with K stripes the credits spread over K rows, so throughput should grow
+ * with K until something else becomes the bottleneck.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class HotAccountBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @State(Scope.Benchmark)
+    public static class HotAccount {
+
+        @Param({ "0", "4", "16" })
+        public int stripes;
+
+        final AtomicInteger nextSender = new AtomicInteger(1);
+
+        @Setup(Level.Trial)
+        public void stripe(BankingDatabaseState db) {
+            db.context.getBean(ClientService.class).setAccountStripes(db.clientIds[0], stripes);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Sender {
+
+        int index;
+
+        @Setup(Level.Trial)
+        public void pick(BankingDatabaseState db, HotAccount hot) {
+            index = 1 + (hot.nextSender.getAndIncrement() - 1) % (db.clients - 1);
+        }
+    }
+
+    @Benchmark
+    @Threads(16)
+    public TransferResult creditHotAccount(BankingDatabaseState db, HotAccount hot, Sender sender) {
+        return db.clientService.transferMoney(db.clientIds[sender.index], db.clientIds[0], AMOUNT);
+    }
+}
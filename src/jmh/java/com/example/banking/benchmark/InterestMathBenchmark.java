@@ -0,0 +1,75 @@
+package com.example.banking.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.example.banking.service.InterestPolicy;
+import com.example.banking.util.Money;
+
+/**
+ * Interest step applied to every account on each tick, per account: the
+ * BigDecimal form against the minor-unit form. Run with -prof gc to compare
+ * allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InterestMathBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    private BigDecimal[] balances;
+    private BigDecimal[] initialBalances;
+    private long[] balancesMinor;
+    private long[] initialBalancesMinor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        balances = new BigDecimal[ACCOUNTS];
+        initialBalances = new BigDecimal[ACCOUNTS];
+        balancesMinor = new long[ACCOUNTS];
+        initialBalancesMinor = new long[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            BigDecimal initial = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            initialBalances[i] = initial;
+            // A mix of accounts below the cap and accounts already capped.
+            balances[i] = i % 4 == 0 ? initial.multiply(InterestPolicy.CAP_MULTIPLIER) : initial;
+            balancesMinor[i] = Money.toMinorUnitsRounded(balances[i]);
+            initialBalancesMinor[i] = Money.toMinorUnits(initial);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCOUNTS)
+    public void accrue(Blackhole blackhole) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            blackhole.consume(InterestPolicy.accrue(balances[i], initialBalances[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCOUNTS)
+    public void accrueMinorUnits(Blackhole blackhole) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            blackhole.consume(InterestPolicy.accrue(balancesMinor[i], initialBalancesMinor[i]));
+        }
+    }
+}
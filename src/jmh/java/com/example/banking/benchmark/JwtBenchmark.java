@@ -0,0 +1,61 @@
+package com.example.banking.benchmark;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.banking.util.JwtTokenVerifier;
+import com.example.banking.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Token generation at login, a full parse and signature check, and the
+ * cached verification JwtRequestFilter performs for a token seen before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtUtil;
+    private JwtTokenVerifier verifier;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        verifier = new JwtTokenVerifier(jwtUtil, 10_000, 900, new SimpleMeterRegistry());
+        token = jwtUtil.generateToken("benchmark-user");
+        verifier.verify(token);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken("benchmark-user");
+    }
+
+    @Benchmark
+    public Claims parse() {
+        return jwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Optional<String> verifyCached() {
+        return verifier.verify(token);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.banking.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.model.ClientPage;
+import com.example.banking.model.ClientSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Serialized size and cost of one search page, as the entity graph the API
+ * used to return versus the ClientSummary projection. Run with the GC
+ * profiler (enabled in the jmh profile) for allocations per page; the
+ * payloadBytes counter reports the response size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class SearchPayloadBenchmark {
+
+    @Param({ "10", "100" })
+    public int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ClientPage<Client> entityPage;
+    private ClientPage<ClientSummary> summaryPage;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Payload {
+
+        public long payloadBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        List<Client> clients = new ArrayList<>(pageSize);
+        List<ClientSummary> summaries = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            BigDecimal balance = new BigDecimal("1500.00");
+            Client client = new Client("Client " + i, new Date(0), new ArrayList<>(List.of("client" + i + "@bench.example")),
+                    new ArrayList<>(List.of(String.format("%010d", 5_550_000_000L + i))), new Account(balance, balance),
+                    "bench" + i, "$2a$10$abcdefghijklmnopqrstuuLongHashedPasswordValue1234567890");
+            client.setId((long) i + 1);
+            clients.add(client);
+            summaries.add(new ClientSummary(client.getId(), client.getName(), client.getDateOfBirth()));
+        }
+        entityPage = new ClientPage<>(clients, "cursor");
+        summaryPage = new ClientPage<>(summaries, "cursor");
+    }
+
+    @Benchmark
+    public byte[] entityPage(Payload payload) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(entityPage);
+        payload.payloadBytes = json.length;
+        return json;
+    }
+
+    @Benchmark
+    public byte[] summaryPage(Payload payload) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(summaryPage);
+        payload.payloadBytes = json.length;
+        return json;
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.banking.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import com.example.banking.model.TransferLegResult;
+import com.example.banking.model.TransferRequest;
+import com.example.banking.model.TransferResult;
+
+/**
+ * Transfers against the embedded database: one transfer per transaction at
+ * 1, 4, 16 and 64 concurrent threads, and the same work submitted as batches,
+ * reported per transfer so the two are directly comparable. Each is measured
+ * as throughput and as sampled latency with percentiles. The phone and
+ * email lookups are in ClientLookupBenchmark.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class TransferBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+
+        /**
+         * Threads start evenly spread over the clients, so concurrent
+         * transfers contend the way independent callers would rather than
+         * all touching the same accounts in lockstep.
+         */
+        @Setup(Level.Trial)
+        public void spread(BankingDatabaseState db, ThreadParams threads) {
+            next = (int) ((long) threads.getThreadIndex() * db.clients / threads.getThreadCount());
+        }
+
+        int nextIndex(int bound) {
+            next = (next + 1) % bound;
+            return next;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public TransferResult singleTransfer1Thread(BankingDatabaseState db, Cursor cursor) {
+        return transfer(db, cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TransferResult singleTransfer4Threads(BankingDatabaseState db, Cursor cursor) {
+        return transfer(db, cursor);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public TransferResult singleTransfer16Threads(BankingDatabaseState db, Cursor cursor) {
+        return transfer(db, cursor);
+    }
+
+    @Benchmark
+    @Threads(64)
+    public TransferResult singleTransfer64Threads(BankingDatabaseState db, Cursor cursor) {
+        return transfer(db, cursor);
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<TransferLegResult> batchedTransfers(BankingDatabaseState db, Cursor cursor) {
+        List<TransferRequest> legs = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            int from = cursor.nextIndex(db.clients);
+            int to = (from + 1 + cursor.nextIndex(db.clients - 1)) % db.clients;
+            TransferRequest leg = new TransferRequest();
+            leg.setFromClientId(db.clientIds[from]);
+            leg.setToClientId(db.clientIds[to]);
+            leg.setAmount(AMOUNT);
+            legs.add(leg);
+        }
+        return db.clientService.transferBatch(legs);
+    }
+
+    private static TransferResult transfer(BankingDatabaseState db, Cursor cursor) {
+        int from = cursor.nextIndex(db.clients);
+        int to = (from + 1 + cursor.nextIndex(db.clients - 1)) % db.clients;
+        return db.clientService.transferMoney(db.clientIds[from], db.clientIds[to], AMOUNT);
+    }
+}
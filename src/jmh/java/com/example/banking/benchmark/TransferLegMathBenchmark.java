@@ -0,0 +1,85 @@
+package com.example.banking.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.example.banking.util.Money;
+
+/**
+ * Balance arithmetic of one batch transfer leg (funds check, debit, credit)
+ * on BigDecimal against minor units, per leg. Run with -prof gc to compare
+ * allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TransferLegMathBenchmark {
+
+    private static final int ACCOUNTS = 1024;
+
+    private BigDecimal[] balances;
+    private BigDecimal[] amounts;
+    private long[] balancesMinor;
+    private long[] amountsMinor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        balances = new BigDecimal[ACCOUNTS];
+        amounts = new BigDecimal[ACCOUNTS];
+        balancesMinor = new long[ACCOUNTS];
+        amountsMinor = new long[ACCOUNTS];
+        for (int i = 0; i < ACCOUNTS; i++) {
+            balances[i] = BigDecimal.valueOf(1_000_000_00L + random.nextInt(1_000_000), 2);
+            amounts[i] = BigDecimal.valueOf(1 + random.nextInt(10_000), 2);
+            balancesMinor[i] = Money.toMinorUnits(balances[i]);
+            amountsMinor[i] = Money.toMinorUnits(amounts[i]);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCOUNTS)
+    public BigDecimal[] bigDecimalLegs() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            int from = i;
+            int to = (i + 1) % ACCOUNTS;
+            BigDecimal amount = amounts[i];
+            if (balances[from].compareTo(amount) >= 0) {
+                balances[from] = balances[from].subtract(amount);
+                balances[to] = balances[to].add(amount);
+            }
+        }
+        return balances;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACCOUNTS)
+    public long[] minorUnitLegs() {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            int from = i;
+            int to = (i + 1) % ACCOUNTS;
+            long amount = amountsMinor[i];
+            if (balancesMinor[from] >= amount) {
+                balancesMinor[from] = Money.subtract(balancesMinor[from], amount);
+                balancesMinor[to] = Money.add(balancesMinor[to], amount);
+            }
+        }
+        return balancesMinor;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.banking.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import com.example.banking.model.AsyncTransferStatus;
+import com.example.banking.model.TransferRequest;
+import com.example.banking.model.TransferResult;
+
+/**
+ * Sustained transfers per second from 64 concurrent callers, each waiting
+ * for its transfer to commit: the synchronous path, one commit per transfer,
+ * against the asynchronous pipeline, which group-commits whatever the
+ * callers have queued.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(64)
+public class TransferPipelineBenchmark {
+
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        int next;
+
+        /**
+         * Threads start evenly spread over the clients, so the 64 callers
+         * send from different accounts and land on every pipeline partition
+         * instead of all starting at the same sender.
+         */
+        @Setup(Level.Trial)
+        public void spread(BankingDatabaseState db, ThreadParams threads) {
+            next = (int) ((long) threads.getThreadIndex() * db.clients / threads.getThreadCount());
+        }
+
+        int nextIndex(int bound) {
+            next = (next + 1) % bound;
+            return next;
+        }
+    }
+
+    @Benchmark
+    public TransferResult synchronous(BankingDatabaseState db, Cursor cursor) {
+        int from = cursor.nextIndex(db.clients);
+        int to = (from + 1 + cursor.nextIndex(db.clients - 1)) % db.clients;
+        return db.clientService.transferMoney(db.clientIds[from], db.clientIds[to], AMOUNT);
+    }
+
+    @Benchmark
+    public AsyncTransferStatus pipelined(BankingDatabaseState db, Cursor cursor) {
+        int from = cursor.nextIndex(db.clients);
+        int to = (from + 1 + cursor.nextIndex(db.clients - 1)) % db.clients;
+        TransferRequest request = new TransferRequest();
+        request.setFromClientId(db.clientIds[from]);
+        request.setToClientId(db.clientIds[to]);
+        request.setAmount(AMOUNT);
+        return db.clientService.submitTransfer(request).getCompletion().join();
+    }
+}
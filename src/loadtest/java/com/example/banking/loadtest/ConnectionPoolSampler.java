@@ -0,0 +1,69 @@
+package com.example.banking.loadtest;
+
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Samples the Hikari pool during the measured run. Requests waiting for a
+ * connection mean throughput is bound by the database pool; a pool that never
+ * fills while latency grows means it is bound by request threads instead.
+ */
+final class ConnectionPoolSampler implements AutoCloseable {
+
+    private final HikariDataSource dataSource;
+    private final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+    private volatile int peakActive;
+    private volatile int peakPending;
+
+    ConnectionPoolSampler(DataSource dataSource) {
+        this.dataSource = unwrap(dataSource);
+    }
+
+    /**
+     * Start sampling at the given System.nanoTime(), i.e. after warm-up.
+     */
+    void startAt(long startNanos) {
+        if (dataSource == null) {
+            return;
+        }
+        long delay = Math.max(0, startNanos - System.nanoTime());
+        sampler.scheduleAtFixedRate(this::sample, delay, TimeUnit.MILLISECONDS.toNanos(50), TimeUnit.NANOSECONDS);
+    }
+
+    String describe() {
+        if (dataSource == null) {
+            return "connection pool: not Hikari, not sampled";
+        }
+        return String.format(Locale.ROOT, "connection pool: max %d, peak active %d, peak waiting %d",
+                dataSource.getMaximumPoolSize(), peakActive, peakPending);
+    }
+
+    @Override
+    public void close() {
+        sampler.shutdownNow();
+    }
+
+    private void sample() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool != null) {
+            peakActive = Math.max(peakActive, pool.getActiveConnections());
+            peakPending = Math.max(peakPending, pool.getThreadsAwaitingConnection());
+        }
+    }
+
+    private static HikariDataSource unwrap(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.banking.loadtest;
+
+/**
+ * The operations in the traffic mix. The key is used in loadtest.properties
+ * for the operation's weight and thresholds, e.g. weight.transfer and
+ * threshold.transfer.p99Millis.
+ */
+enum Endpoint {
+
+    AUTHENTICATE("authenticate"),
+    SEARCH("search"),
+    GET_BY_ID("getById"),
+    TRANSFER("transfer"),
+    PHONE_EDIT("phoneEdit"),
+    EMAIL_EDIT("emailEdit");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+}
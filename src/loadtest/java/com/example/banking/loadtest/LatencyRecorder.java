@@ -0,0 +1,79 @@
+package com.example.banking.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples of one worker for one endpoint. Each worker owns its
+ * recorders, so recording needs no synchronization; they are merged once the
+ * run is over.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+    private long errors;
+
+    void record(long nanos, boolean ok) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    void mergeInto(LatencyRecorder target) {
+        for (int i = 0; i < count; i++) {
+            target.record(samples[i], true);
+        }
+        target.errors += errors;
+    }
+
+    int count() {
+        return count;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    /**
+     * Sorts the samples in place; call once, after merging.
+     */
+    Summary summarize(double seconds) {
+        Arrays.sort(samples, 0, count);
+        return new Summary(count, errors, count / seconds, percentile(0.50), percentile(0.99), percentile(0.999));
+    }
+
+    private double percentile(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * count) - 1;
+        return samples[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+
+    static final class Summary {
+
+        final int requests;
+        final long errors;
+        final double throughput;
+        final double p50Millis;
+        final double p99Millis;
+        final double p999Millis;
+
+        Summary(int requests, long errors, double throughput, double p50Millis, double p99Millis, double p999Millis) {
+            this.requests = requests;
+            this.errors = errors;
+            this.throughput = throughput;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.p999Millis = p999Millis;
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+}
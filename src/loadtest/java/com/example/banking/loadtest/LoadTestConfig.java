@@ -0,0 +1,48 @@
+package com.example.banking.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Settings from loadtest.properties on the classpath. Any key can be
+ * overridden with a system property of the same name, e.g.
+ * -Dloadtest.clients=128 or -Dthreshold.transfer.p99Millis=40.
+ */
+final class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    LoadTestConfig() {
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("loadtest.") || name.startsWith("weight.") || name.startsWith("threshold.")) {
+                properties.setProperty(name, System.getProperty(name));
+            }
+        }
+    }
+
+    int getInt(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    /**
+     * The configured value, or NaN when the key is absent so the check is skipped.
+     */
+    double getDouble(String key) {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? Double.NaN : Double.parseDouble(value.trim());
+    }
+
+    String getString(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.banking.loadtest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.example.banking.OnlineBankingApplication;
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.service.ClientService;
+
+/**
+ * Boots the application on an in-memory database (profile "loadtest"), seeds
+ * clients, then drives a weighted mix of authenticate, search, get-by-id,
+ * transfer and phone/email edit requests from many concurrent virtual clients
+ * over HTTP. Prints p50/p99/p99.9 latency and throughput per endpoint, writes
+ * the same figures as JSON, and exits non-zero if any configured threshold
+ * in loadtest.properties is missed. The runner throws rather than calling
+ * System.exit, so it can run inside the Maven JVM and fail the build.
+ * Setting loadtest.springProfiles=loadtest,virtual runs the same mix with
+ * virtual threads for comparison; the connection pool figures show whether
+ * the run was bound by threads or by database connections.
+ */
+public final class LoadTestRunner {
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = new LoadTestConfig();
+        int workers = config.getInt("loadtest.clients", 64);
+        int seedClients = config.getInt("loadtest.seedClients", 10_000);
+        int warmupSeconds = config.getInt("loadtest.warmupSeconds", 10);
+        int durationSeconds = config.getInt("loadtest.durationSeconds", 60);
+        if (workers > seedClients) {
+            throw new IllegalArgumentException("loadtest.clients must not exceed loadtest.seedClients");
+        }
+
+        String[] profiles = config.getString("loadtest.springProfiles", "loadtest").split(",");
+
+        List<String> failures;
+        ExecutorService httpExecutor = Executors.newFixedThreadPool(4);
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(OnlineBankingApplication.class)
+                .profiles(profiles).run(args);
+                ConnectionPoolSampler poolSampler = new ConnectionPoolSampler(context.getBean(DataSource.class))) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            long[] clientIds = seed(context.getBean(ClientService.class), seedClients);
+            HttpClient http = HttpClient.newBuilder().executor(httpExecutor).build();
+            String token = authenticate(http, baseUrl);
+
+            long recordFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long stopAt = recordFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+            Endpoint[] mix = mix(config);
+            poolSampler.startAt(recordFrom);
+            List<VirtualClient> clients = new ArrayList<>(workers);
+            ExecutorService pool = Executors.newFixedThreadPool(workers);
+            for (int i = 0; i < workers; i++) {
+                VirtualClient client = new VirtualClient(i, workers, http, baseUrl, token, clientIds, mix, recordFrom,
+                        stopAt);
+                clients.add(client);
+                pool.execute(client);
+            }
+            pool.shutdown();
+            pool.awaitTermination(warmupSeconds + durationSeconds + 60L, TimeUnit.SECONDS);
+
+            Map<Endpoint, LatencyRecorder.Summary> summaries = summarize(clients, durationSeconds);
+            print(summaries, workers, durationSeconds);
+            System.out.printf(Locale.ROOT, "threads: %s, %s%n",
+                    Threading.VIRTUAL.isActive(context.getEnvironment()) ? "virtual" : "platform",
+                    poolSampler.describe());
+            writeJson(summaries, Path.of(config.getString("loadtest.reportFile", "target/loadtest-report.json")));
+            failures = check(config, summaries);
+        } finally {
+            httpExecutor.shutdownNow();
+        }
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Load test thresholds missed:\n  " + String.join("\n  ", failures));
+        }
+    }
+
+    static String phone(int clientIndex, boolean edited) {
+        return String.format("%010d", (edited ? 5_560_000_000L : 5_550_000_000L) + clientIndex);
+    }
+
+    static String email(int clientIndex, boolean edited) {
+        return "client" + clientIndex + (edited ? "@edited.example" : "@load.example");
+    }
+
+    private static long[] seed(ClientService clientService, int count) {
+        long[] ids = new long[count];
+        BigDecimal balance = new BigDecimal("1000000000.00");
+        for (int i = 0; i < count; i++) {
+            Client client = new Client("Client " + i, new Date(0), new ArrayList<>(List.of(email(i, false))),
+                    new ArrayList<>(List.of(phone(i, false))), new Account(balance, balance), "load" + i,
+                    "load-password");
+            ids[i] = clientService.createClient(client).getId();
+        }
+        return ids;
+    }
+
+    private static String authenticate(HttpClient http, String baseUrl) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/authorize/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"user\",\"password\":\"password\"}"))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not authenticate load test user: " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    /**
+     * Each endpoint repeated by its weight, so a uniform pick follows the weights.
+     */
+    private static Endpoint[] mix(LoadTestConfig config) {
+        List<Endpoint> mix = new ArrayList<>();
+        for (Endpoint endpoint : Endpoint.values()) {
+            for (int i = config.getInt("weight." + endpoint.key(), 0); i > 0; i--) {
+                mix.add(endpoint);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("At least one weight.* must be positive");
+        }
+        return mix.toArray(new Endpoint[0]);
+    }
+
+    private static Map<Endpoint, LatencyRecorder.Summary> summarize(List<VirtualClient> clients, int seconds) {
+        Map<Endpoint, LatencyRecorder.Summary> summaries = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencyRecorder merged = new LatencyRecorder();
+            for (VirtualClient client : clients) {
+                client.recorders().get(endpoint).mergeInto(merged);
+            }
+            if (merged.count() > 0) {
+                summaries.put(endpoint, merged.summarize(seconds));
+            }
+        }
+        return summaries;
+    }
+
+    private static void print(Map<Endpoint, LatencyRecorder.Summary> summaries, int workers, int seconds) {
+        System.out.printf(Locale.ROOT, "%nLoad test: %d clients for %d s%n", workers, seconds);
+        System.out.printf(Locale.ROOT, "%-14s %10s %10s %10s %10s %10s %8s%n", "endpoint", "requests", "req/s",
+                "p50 ms", "p99 ms", "p99.9 ms", "errors");
+        summaries.forEach((endpoint, s) -> System.out.printf(Locale.ROOT,
+                "%-14s %10d %10.1f %10.2f %10.2f %10.2f %8d%n", endpoint.key(), s.requests, s.throughput,
+                s.p50Millis, s.p99Millis, s.p999Millis, s.errors));
+    }
+
+    private static void writeJson(Map<Endpoint, LatencyRecorder.Summary> summaries, Path file) throws IOException {
+        StringBuilder json = new StringBuilder("{\n");
+        int remaining = summaries.size();
+        for (Map.Entry<Endpoint, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+            LatencyRecorder.Summary s = entry.getValue();
+            json.append(String.format(Locale.ROOT,
+                    "  \"%s\": {\"requests\": %d, \"errors\": %d, \"throughput\": %.2f, "
+                            + "\"p50Millis\": %.3f, \"p99Millis\": %.3f, \"p999Millis\": %.3f}%s%n",
+                    entry.getKey().key(), s.requests, s.errors, s.throughput, s.p50Millis, s.p99Millis,
+                    s.p999Millis, --remaining > 0 ? "," : ""));
+        }
+        json.append("}\n");
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.writeString(file, json);
+    }
+
+    /**
+     * Thresholds are optional: threshold.&lt;endpoint&gt;.p50Millis, .p99Millis,
+     * .p999Millis, .minThroughput and .maxErrorRate, plus a global
+     * threshold.maxErrorRate applied to every endpoint without its own.
+     */
+    private static List<String> check(LoadTestConfig config, Map<Endpoint, LatencyRecorder.Summary> summaries) {
+        List<String> failures = new ArrayList<>();
+        double globalMaxErrorRate = config.getDouble("threshold.maxErrorRate");
+        for (Map.Entry<Endpoint, LatencyRecorder.Summary> entry : summaries.entrySet()) {
+            String prefix = "threshold." + entry.getKey().key() + ".";
+            LatencyRecorder.Summary s = entry.getValue();
+            atMost(failures, prefix + "p50Millis", s.p50Millis, config.getDouble(prefix + "p50Millis"));
+            atMost(failures, prefix + "p99Millis", s.p99Millis, config.getDouble(prefix + "p99Millis"));
+            atMost(failures, prefix + "p999Millis", s.p999Millis, config.getDouble(prefix + "p999Millis"));
+            double maxErrorRate = config.getDouble(prefix + "maxErrorRate");
+            atMost(failures, prefix + "maxErrorRate", s.errorRate(),
+                    Double.isNaN(maxErrorRate) ? globalMaxErrorRate : maxErrorRate);
+            double minThroughput = config.getDouble(prefix + "minThroughput");
+            if (!Double.isNaN(minThroughput) && s.throughput < minThroughput) {
+                failures.add(String.format(Locale.ROOT, "%s: %.2f < %.2f", prefix + "minThroughput", s.throughput,
+                        minThroughput));
+            }
+        }
+        return failures;
+    }
+
+    private static void atMost(List<String> failures, String key, double actual, double limit) {
+        if (!Double.isNaN(limit) && actual > limit) {
+            failures.add(String.format(Locale.ROOT, "%s: %.4f > %.4f", key, actual, limit));
+        }
+    }
+}
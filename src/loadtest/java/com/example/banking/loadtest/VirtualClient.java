@@ -0,0 +1,136 @@
+package com.example.banking.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * One simulated user issuing requests back to back, picking each operation
+ * by weight. Phone and email edits only touch the clients this worker owns
+ * (index modulo worker count) and flip each contact between two known values,
+ * so concurrent edits never race and every edit is expected to succeed.
+ */
+final class VirtualClient implements Runnable {
+
+    private final int workerNo;
+    private final int workers;
+    private final HttpClient http;
+    private final String baseUrl;
+    private final String token;
+    private final long[] clientIds;
+    private final Endpoint[] mix;
+    private final long recordFromNanos;
+    private final long stopAtNanos;
+    private final Random random;
+    private final boolean[] phoneEdited;
+    private final boolean[] emailEdited;
+    private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+
+    VirtualClient(int workerNo, int workers, HttpClient http, String baseUrl, String token, long[] clientIds,
+            Endpoint[] mix, long recordFromNanos, long stopAtNanos) {
+        this.workerNo = workerNo;
+        this.workers = workers;
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.token = token;
+        this.clientIds = clientIds;
+        this.mix = mix;
+        this.recordFromNanos = recordFromNanos;
+        this.stopAtNanos = stopAtNanos;
+        this.random = new Random(workerNo);
+        this.phoneEdited = new boolean[clientIds.length];
+        this.emailEdited = new boolean[clientIds.length];
+        for (Endpoint endpoint : Endpoint.values()) {
+            recorders.put(endpoint, new LatencyRecorder());
+        }
+    }
+
+    Map<Endpoint, LatencyRecorder> recorders() {
+        return recorders;
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < stopAtNanos) {
+            Endpoint endpoint = mix[random.nextInt(mix.length)];
+            HttpRequest request = request(endpoint);
+            long start = System.nanoTime();
+            boolean ok;
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                ok = response.statusCode() < 400;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (start >= recordFromNanos) {
+                recorders.get(endpoint).record(System.nanoTime() - start, ok);
+            }
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        switch (endpoint) {
+        case AUTHENTICATE:
+            return post("/api/authorize/authenticate", "{\"username\":\"user\",\"password\":\"password\"}", false);
+        case SEARCH:
+            return get("/api/clients/search?name=Client%20" + random.nextInt(100) + "&sort=NAME&size=10");
+        case GET_BY_ID:
+            return get("/api/clients/" + clientIds[random.nextInt(clientIds.length)]);
+        case TRANSFER:
+            int from = random.nextInt(clientIds.length);
+            int to = (from + 1 + random.nextInt(clientIds.length - 1)) % clientIds.length;
+            return post("/api/clients/transfers", "{\"fromClientId\":" + clientIds[from] + ",\"toClientId\":"
+                    + clientIds[to] + ",\"amount\":0.01}", true);
+        case PHONE_EDIT:
+            int phoneOwner = ownedClient();
+            String oldPhone = LoadTestRunner.phone(phoneOwner, phoneEdited[phoneOwner]);
+            String newPhone = LoadTestRunner.phone(phoneOwner, !phoneEdited[phoneOwner]);
+            phoneEdited[phoneOwner] = !phoneEdited[phoneOwner];
+            return put("/api/clients/" + clientIds[phoneOwner] + "/phones?oldPhone=" + oldPhone + "&newPhone=" + newPhone);
+        case EMAIL_EDIT:
+            int emailOwner = ownedClient();
+            String oldEmail = LoadTestRunner.email(emailOwner, emailEdited[emailOwner]);
+            String newEmail = LoadTestRunner.email(emailOwner, !emailEdited[emailOwner]);
+            emailEdited[emailOwner] = !emailEdited[emailOwner];
+            return put("/api/clients/" + clientIds[emailOwner] + "/emails?oldEmail=" + oldEmail + "&newEmail=" + newEmail);
+        default:
+            throw new IllegalStateException("Unknown endpoint " + endpoint);
+        }
+    }
+
+    /**
+     * A random client index owned by this worker.
+     */
+    private int ownedClient() {
+        int owned = (clientIds.length - workerNo + workers - 1) / workers;
+        return workerNo + workers * random.nextInt(owned);
+    }
+
+    private HttpRequest get(String path) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path))).GET().build();
+    }
+
+    private HttpRequest put(String path) {
+        return authorized(HttpRequest.newBuilder(URI.create(baseUrl + path)))
+                .PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest post(String path, String json, boolean authorized) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        return authorized ? authorized(builder).build() : builder.build();
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+        return builder.header("Authorization", "Bearer " + token);
+    }
+}
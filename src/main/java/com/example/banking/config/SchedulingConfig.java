@@ -1,9 +1,95 @@
 package com.example.banking.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ExecutorConfigurationSupport;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
+/**
+ * With spring.threads.virtual.enabled on a Java 21 runtime the pools below
+ * keep their sizes, which still bound how much runs at once, but create
+ * virtual threads, so a worker blocked on JDBC does not hold a platform thread.
+ */
 @Configuration
 @EnableScheduling
 public class SchedulingConfig {
+
+    @Autowired
+    private Environment environment;
+
+    /**
+     * Scheduler for the @Scheduled jobs. A single thread keeps ticks of the same
+     * job from overlapping; the heavy lifting happens on the worker pools below.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("scheduler-");
+        useVirtualThreadsIfEnabled(scheduler, "scheduler-");
+        return scheduler;
+    }
+
+    /**
+     * Bounded pool running the partitions of an interest tick, one task per partition.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor interestExecutor(@Value("${app.interest.partitions:4}") int partitions) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(partitions);
+        executor.setMaxPoolSize(partitions);
+        executor.setQueueCapacity(partitions);
+        executor.setThreadNamePrefix("interest-");
+        useVirtualThreadsIfEnabled(executor, "interest-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Writers of the asynchronous transfer pipeline, one long-running task
+     * per partition. They block on their queues and on JDBC, so they follow
+     * the virtual-thread setting; on shutdown they get 30 seconds to drain
+     * what was queued. No threads are started while the pipeline is disabled.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor transferPipelineExecutor(
+            @Value("${app.transfers.async.partitions:4}") int partitions) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(partitions);
+        executor.setMaxPoolSize(partitions);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("transfer-writer-");
+        useVirtualThreadsIfEnabled(executor, "transfer-writer-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    /**
+     * Pool validating bulk import chunks. Validation is CPU-bound regex work,
+     * so it stays on platform threads. Each import queues at most the slices
+     * of one chunk ahead of the one being written.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor(@Value("${app.clientImport.validationThreads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("import-");
+        return executor;
+    }
+
+    private void useVirtualThreadsIfEnabled(ExecutorConfigurationSupport executor, String threadNamePrefix) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory());
+        }
+    }
 }
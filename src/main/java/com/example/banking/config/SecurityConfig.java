@@ -1,8 +1,10 @@
 package com.example.banking.config;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -28,9 +30,33 @@ public class SecurityConfig {
     private CustomUserDetailsService customUserDetailsService;
 
 
+    @Value("${app.security.bcryptStrength:10}")
+    private int bcryptStrength;
+
+    /**
+     * Hashes stored with a lower cost than bcryptStrength are re-encoded on the
+     * next successful login, via CustomUserDetailsService.updatePassword.
+     */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
+    }
+
+    /**
+     * Pool that runs password verification for /api/authorize/authenticate. Its
+     * queue is the admission limit: logins beyond it are refused with 503.
+     * BCrypt is CPU-bound, so this pool stays on platform threads even when
+     * virtual threads are enabled.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor loginExecutor(@Value("${app.security.login.threads:4}") int threads,
+            @Value("${app.security.login.queueCapacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-");
+        return executor;
     }
     
     @Bean
@@ -49,7 +75,8 @@ public class SecurityConfig {
             .authorizeHttpRequests(authorize -> authorize
             		 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
                      .requestMatchers("/api/clients/create").permitAll()  
-                     .requestMatchers("/api/authorize/**").permitAll()
+                     .requestMatchers("/api/authorize/authenticate").permitAll()
+                     .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                      .requestMatchers("/api/clients/**").authenticated()
                 .anyRequest().authenticated()
             )
@@ -1,43 +1,59 @@
 package com.example.banking.controller;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.AuthenticationException;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.banking.model.AuthRequest;
-import com.example.banking.util.JwtUtil;
+import com.example.banking.model.CacheStatsView;
+import com.example.banking.model.LoginStats;
+import com.example.banking.service.CustomUserDetailsService;
+import com.example.banking.service.LoginService;
+import com.example.banking.util.JwtTokenVerifier;
 
 @RestController
 @RequestMapping("/api/authorize")
 public class AuthenticationController {
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private LoginService loginService;
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private CustomUserDetailsService userDetailsService;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private JwtTokenVerifier jwtTokenVerifier;
 
+    /**
+     * Verified on the login pool; the request thread is released while BCrypt runs.
+     */
     @PostMapping("/authenticate")
-    public String authenticate(@RequestBody AuthRequest authRequest) throws Exception {
-        try {
-           authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
-            );
-
-            final UserDetails userDetails = userDetailsService.loadUserByUsername(authRequest.getUsername());
-            return jwtUtil.generateToken(userDetails.getUsername());
-        } catch (AuthenticationException e) {
-            throw new Exception("Invalid username or password", e);
-        }
+    public CompletableFuture<String> authenticate(@RequestBody AuthRequest authRequest) {
+        return loginService.authenticate(authRequest.getUsername(), authRequest.getPassword());
+    }
+
+    @GetMapping("/login-stats")
+    public LoginStats loginStats() {
+        return loginService.getStats();
+    }
+
+    @GetMapping("/token-cache")
+    public CacheStatsView tokenCacheStats() {
+        return jwtTokenVerifier.getStats();
+    }
+
+    @GetMapping("/user-cache")
+    public Map<String, CacheStatsView> userCacheStats() {
+        Map<String, CacheStatsView> stats = new LinkedHashMap<>();
+        stats.put("users", userDetailsService.getUserCacheStats());
+        stats.put("unknownUsernames", userDetailsService.getUnknownUserCacheStats());
+        return stats;
     }
 }
\ No newline at end of file
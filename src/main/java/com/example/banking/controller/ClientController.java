@@ -1,6 +1,9 @@
 package com.example.banking.controller;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.security.Principal;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
@@ -8,10 +11,10 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Scheduled;
 //import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -19,44 +22,66 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.example.banking.entity.Client;
+import com.example.banking.exception.InvalidExportException;
 import com.example.banking.exception.ResourceNotFoundException;
-import com.example.banking.repository.ClientRepository;
+import com.example.banking.model.AsyncTransferStatus;
+import com.example.banking.model.ClientDetail;
+import com.example.banking.model.ClientImportReport;
+import com.example.banking.model.ClientPage;
+import com.example.banking.model.ClientSearchCriteria;
+import com.example.banking.model.ClientSearchExplain;
+import com.example.banking.model.ClientSort;
+import com.example.banking.model.ClientSummary;
+import com.example.banking.model.NameMatch;
+import com.example.banking.model.TransferLegResult;
+import com.example.banking.model.TransferRequest;
+import com.example.banking.model.TransferResult;
+import com.example.banking.service.ClientExportService;
+import com.example.banking.service.ClientImportService;
 import com.example.banking.service.ClientService;
+import com.example.banking.service.TransferPipeline;
 
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 
 @RestController
 @RequestMapping("/api/clients")
 public class ClientController {
 
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     @Autowired
     private ClientService clientService;
 
-    
     @Autowired
-    private ClientRepository clientRepository;
+    private ClientImportService clientImportService;
+
+    @Autowired
+    private ClientExportService clientExportService;
 
     /**
      * Create a new client with initial data (unsecured).
      */
     @PostMapping("/create")
-    public ResponseEntity<Client> createClient(@Valid @RequestBody Client client) {
+    public ResponseEntity<ClientDetail> createClient(@Valid @RequestBody Client client) {
         Client createdClient = clientService.createClient(client);
-        return new ResponseEntity<>(createdClient, HttpStatus.CREATED);
+        return new ResponseEntity<>(ClientDetail.from(createdClient), HttpStatus.CREATED);
     }
 
     /**
      * Get a client by ID.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Client> getClientById(@PathVariable Long id) {
-        Optional<Client> client = clientService.getClientById(id);
+    public ResponseEntity<ClientDetail> getClientById(@PathVariable Long id) {
+        Optional<ClientDetail> client = clientService.getClientById(id);
         return client.map(ResponseEntity::ok)
                      .orElseThrow(() -> new ResourceNotFoundException("Client not found"));
     }
@@ -65,10 +90,10 @@ public class ClientController {
      * Update client details. Only phones and emails are modifiable.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<Client> updateClient(@PathVariable Long id, @RequestBody Client clientDetails) {
+    public ResponseEntity<ClientDetail> updateClient(@PathVariable Long id, @RequestBody Client clientDetails) {
         clientDetails.setId(id);
         Client updatedClient = clientService.updateClient(clientDetails);
-        return ResponseEntity.ok(updatedClient);
+        return ResponseEntity.ok(clientService.toDetail(updatedClient));
     }
 
     /**
@@ -81,30 +106,78 @@ public class ClientController {
     }
 
     /**
-     * Search clients with filters and pagination.
+     * Search clients with filters and keyset pagination. All given filters are
+     * combined; dateOfBirth and dateOfBirthTo bound an inclusive range. Pass
+     * the returned nextCursor back to fetch the following page.
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Client>> searchClients(
+    public ResponseEntity<ClientPage<ClientSummary>> searchClients(
+            @RequestParam(required = false) String dateOfBirth,
+            @RequestParam(required = false) String dateOfBirthTo,
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "ID") ClientSort sort) {
+
+        ClientSearchCriteria criteria;
+        try {
+            criteria = new ClientSearchCriteria(parseDate(dateOfBirth), parseDate(dateOfBirthTo), phone, name, email);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        return ResponseEntity.ok(clientService.searchClients(criteria, sort, cursor, size));
+    }
+
+    /**
+     * Explain how a search with the given filters would run.
+     */
+    @GetMapping("/search/explain")
+    public ResponseEntity<ClientSearchExplain> explainSearch(
             @RequestParam(required = false) String dateOfBirth,
+            @RequestParam(required = false) String dateOfBirthTo,
             @RequestParam(required = false) String phone,
             @RequestParam(required = false) String name,
             @RequestParam(required = false) String email,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
-
-    	LocalDate parsedDateOfBirth = null;
-        if (dateOfBirth != null) {
-            try {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMdd");
-                parsedDateOfBirth = LocalDate.parse(dateOfBirth, formatter);
-            } catch (DateTimeParseException e) {
-                return ResponseEntity.badRequest().body(null);
-            }
+            @RequestParam(defaultValue = "ID") ClientSort sort) {
+
+        ClientSearchCriteria criteria;
+        try {
+            criteria = new ClientSearchCriteria(parseDate(dateOfBirth), parseDate(dateOfBirthTo), phone, name, email);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body(null);
         }
+        return ResponseEntity.ok(clientService.explainSearch(criteria, sort));
+    }
 
-        PageRequest pageRequest = PageRequest.of(page, size);
-        List<Client> clients = clientService.searchClients(parsedDateOfBirth, phone, name, email);
-        return ResponseEntity.ok(clients);
+    /**
+     * Top clients whose name starts with the prefix, ignoring case and accents.
+     */
+    @GetMapping("/search/names")
+    public ResponseEntity<List<NameMatch>> searchNames(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(clientService.searchNames(prefix, limit));
+    }
+
+    /**
+     * Ids of the clients holding an exact phone number or email address.
+     */
+    @GetMapping("/lookup")
+    public ResponseEntity<List<Long>> lookupClientIds(
+            @RequestParam(required = false) String phone,
+            @RequestParam(required = false) String email) {
+        if ((phone == null) == (email == null)) {
+            return ResponseEntity.badRequest().body(null);
+        }
+        List<Long> ids = phone != null ? clientService.findClientIdsByPhone(phone)
+                : clientService.findClientIdsByEmail(email);
+        return ResponseEntity.ok(ids);
+    }
+
+    private static LocalDate parseDate(String value) {
+        return value == null ? null : LocalDate.parse(value, DATE_FORMAT);
     }
 
     /**
@@ -125,6 +198,16 @@ public class ClientController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Spread the client's account balance over the given number of stripes so
+     * concurrent credits do not queue on one row; 0 turns striping off.
+     */
+    @PutMapping("/{id}/account/stripes")
+    public ResponseEntity<Void> setAccountStripes(@PathVariable Long id, @RequestParam int count) {
+        clientService.setAccountStripes(id, count);
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * Delete a phone number for a client.
      */
@@ -143,51 +226,88 @@ public class ClientController {
         return ResponseEntity.noContent().build();
     }
 
-    
-    @Scheduled(fixedRate = 60000) 
-    @Transactional
-    public void incrementBalance() {
-        List<Client> clients = clientRepository.findAll();
-
-        for (Client client : clients) {
-            BigDecimal initialBalance = client.getAccount().getInitialBalance();
-            BigDecimal currentBalance = client.getAccount().getBalance();
-            BigDecimal maxBalance = initialBalance.multiply(new BigDecimal("2.07"));
-            BigDecimal increment = currentBalance.multiply(new BigDecimal("0.05"));
-
-            if (currentBalance.add(increment).compareTo(maxBalance) > 0) {
-                client.getAccount().setBalance(maxBalance);
-            } else {
-                client.getAccount().setBalance(currentBalance.add(increment));
-            }
+    /**
+     * Import clients in bulk from an NDJSON or CSV body, streamed rather than
+     * read into memory. Rows that fail are skipped and listed in the report.
+     */
+    @PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+    public ResponseEntity<ClientImportReport> importClients(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        ClientImportService.Format format = MediaType.parseMediaType(contentType)
+                .isCompatibleWith(TEXT_CSV) ? ClientImportService.Format.CSV : ClientImportService.Format.NDJSON;
+        return ResponseEntity.ok(clientImportService.importClients(body, format));
+    }
 
-            clientRepository.save(client);
+    /**
+     * Stream all clients with an id above afterId, in id order, as NDJSON or
+     * CSV. Passwords are not exported. An interrupted export is resumed by
+     * passing the last id received as afterId.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportClients(
+            @RequestParam(defaultValue = "ndjson") String format, @RequestParam(defaultValue = "0") long afterId) {
+        ClientExportService.Format exportFormat;
+        MediaType contentType;
+        if ("csv".equalsIgnoreCase(format)) {
+            exportFormat = ClientExportService.Format.CSV;
+            contentType = TEXT_CSV;
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            exportFormat = ClientExportService.Format.NDJSON;
+            contentType = MediaType.APPLICATION_NDJSON;
+        } else {
+            throw new InvalidExportException("Export format must be ndjson or csv");
         }
+        StreamingResponseBody body = out -> clientExportService.export(out, exportFormat, afterId);
+        return ResponseEntity.ok().contentType(contentType).body(body);
     }
 
     /**
-     * Transfer money between accounts. 
+     * Transfer money between the accounts of two clients. With an
+     * Idempotency-Key header a retried request returns the original result
+     * instead of transferring again; keys are scoped to the caller.
      */
-    @Transactional
-    public void transferMoney(Long fromClientId, Long toClientId, BigDecimal amount) {
-        // Locking to prevent race conditions
-        Client fromClient = clientRepository.findById(fromClientId)
-                .orElseThrow(() -> new ResourceNotFoundException("Sender client not found"));
-        Client toClient = clientRepository.findById(toClientId)
-                .orElseThrow(() -> new ResourceNotFoundException("Recipient client not found"));
+    @PostMapping("/transfers")
+    public ResponseEntity<TransferResult> transferMoney(@RequestBody TransferRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Principal principal) {
+        TransferResult result = clientService.transferMoney(principal.getName(), idempotencyKey,
+                request.getFromClientId(), request.getToClientId(), request.getAmount());
+        return ResponseEntity.ok(result);
+    }
 
-        synchronized (fromClient) {
-            synchronized (toClient) {
-                if (fromClient.getAccount().getBalance().compareTo(amount) < 0) {
-                    throw new IllegalArgumentException("Insufficient funds");
-                }
+    /**
+     * Apply many transfers in a single transaction and report the outcome of each leg.
+     */
+    @PostMapping("/transfers/batch")
+    public ResponseEntity<List<TransferLegResult>> transferBatch(@RequestBody List<TransferRequest> legs) {
+        return ResponseEntity.ok(clientService.transferBatch(legs));
+    }
 
-                fromClient.getAccount().setBalance(fromClient.getAccount().getBalance().subtract(amount));
-                toClient.getAccount().setBalance(toClient.getAccount().getBalance().add(amount));
+    /**
+     * Queue a transfer on the asynchronous pipeline. Answers 202 with the
+     * pending status; poll the Location URL for the outcome. An
+     * Idempotency-Key already used, here or on POST /transfers, answers with
+     * the original transfer's status.
+     */
+    @PostMapping("/transfers/async")
+    public ResponseEntity<AsyncTransferStatus> submitTransfer(@RequestBody TransferRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            Principal principal) {
+        TransferPipeline.Submission submission = clientService.submitTransfer(principal.getName(), idempotencyKey,
+                request);
+        URI status = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
+                .buildAndExpand(submission.getId()).toUri();
+        return ResponseEntity.accepted().location(status)
+                .body(clientService.getTransferStatus(submission.getId())
+                        .orElseGet(() -> submission.getCompletion().getNow(null)));
+    }
 
-                clientRepository.save(fromClient);
-                clientRepository.save(toClient);
-            }
-        }
+    /**
+     * Status of a transfer queued with POST /transfers/async.
+     */
+    @GetMapping("/transfers/async/{id}")
+    public ResponseEntity<AsyncTransferStatus> getTransferStatus(@PathVariable String id) {
+        return clientService.getTransferStatus(id).map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("Transfer not found"));
     }
 }
@@ -0,0 +1,36 @@
+package com.example.banking.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.banking.service.LedgerService;
+
+@RestController
+@RequestMapping("/api/ledger")
+public class LedgerController {
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    /**
+     * List the ids of accounts whose balance does not match the ledger.
+     */
+    @GetMapping("/discrepancies")
+    public ResponseEntity<List<Long>> findDiscrepancies() {
+        return ResponseEntity.ok(ledgerService.findDiscrepancies());
+    }
+
+    /**
+     * Recompute all balances from the ledger. Returns the number of accounts rewritten.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<Long> rebuildBalances() {
+        return ResponseEntity.ok(ledgerService.rebuildBalances());
+    }
+}
@@ -1,29 +1,56 @@
 package com.example.banking.entity;
 
 import jakarta.persistence.*;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.example.banking.util.Money;
+import com.example.banking.util.MoneyConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.math.BigDecimal;
 
+/**
+ * Balances are held as minor units (see Money) and stored as numeric(38,2).
+ * The BigDecimal accessors are for JSON and callers at the edges; balance
+ * arithmetic should use the minor-unit accessors. For a hot account (stripes
+ * &gt; 0) balance is only the part held on this row, see HotAccountService.
+ */
 @Entity
 @Table(name = "Account_details")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "accounts")
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_id")
+    @SequenceGenerator(name = "account_id", sequenceName = "account_details_seq", allocationSize = 50)
     private Long id;
 
-    @Column(name = "balance", nullable = false)
-    private BigDecimal balance;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "balance", nullable = false, precision = 38, scale = 2)
+    private long balance;
 
-    @Column(name = "initial_balance", nullable = false)
-    private BigDecimal initialBalance;
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "initial_balance", nullable = false, precision = 38, scale = 2)
+    private long initialBalance;
+
+    /**
+     * Number of AccountStripe rows holding part of the balance; 0 for a normal
+     * account. Only changed through HotAccountService.
+     */
+    @JsonIgnore
+    @Column(name = "stripes", nullable = false)
+    private int stripes;
 
     // Constructors
     public Account() {
     }
 
     public Account(BigDecimal balance, BigDecimal initialBalance) {
-        this.balance = balance;
-        this.initialBalance = initialBalance;
+        setBalance(balance);
+        setInitialBalance(initialBalance);
     }
 
     // Getters and Setters
@@ -36,18 +63,37 @@ public class Account {
     }
 
     public BigDecimal getBalance() {
-        return balance;
+        return Money.toBigDecimal(balance);
     }
 
     public void setBalance(BigDecimal balance) {
-        this.balance = balance;
+        this.balance = Money.toMinorUnits(balance);
     }
 
     public BigDecimal getInitialBalance() {
-        return initialBalance;
+        return Money.toBigDecimal(initialBalance);
     }
 
     public void setInitialBalance(BigDecimal initialBalance) {
-        this.initialBalance = initialBalance;
+        this.initialBalance = Money.toMinorUnits(initialBalance);
+    }
+
+    @JsonIgnore
+    public long getBalanceMinorUnits() {
+        return balance;
+    }
+
+    @JsonIgnore
+    public void setBalanceMinorUnits(long balance) {
+        this.balance = balance;
+    }
+
+    @JsonIgnore
+    public long getInitialBalanceMinorUnits() {
+        return initialBalance;
+    }
+
+    public int getStripes() {
+        return stripes;
     }
 }
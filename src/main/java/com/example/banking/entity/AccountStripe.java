@@ -0,0 +1,86 @@
+package com.example.banking.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import com.example.banking.util.MoneyConverter;
+
+/**
+ * One sub-balance of a hot account. Credits to a hot account land on a
+ * random stripe instead of the Account_details row, so concurrent credits
+ * lock different rows; the account's balance is its own row plus all of its
+ * stripes. Stripes are only ever changed through native statements in
+ * AccountStripeRepository.
+ */
+@Entity
+@Table(name = "account_stripes")
+@IdClass(AccountStripe.Key.class)
+public class AccountStripe {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "stripe_no")
+    private Integer stripeNo;
+
+    @Convert(converter = MoneyConverter.class)
+    @Column(name = "amount", nullable = false, precision = 38, scale = 2)
+    private long amount;
+
+    // Constructors
+    public AccountStripe() {
+    }
+
+    public AccountStripe(Long accountId, Integer stripeNo) {
+        this.accountId = accountId;
+        this.stripeNo = stripeNo;
+    }
+
+    // Getters
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public Integer getStripeNo() {
+        return stripeNo;
+    }
+
+    public long getAmountMinorUnits() {
+        return amount;
+    }
+
+    public static class Key implements Serializable {
+
+        private Long accountId;
+        private Integer stripeNo;
+
+        public Key() {
+        }
+
+        public Key(Long accountId, Integer stripeNo) {
+            this.accountId = accountId;
+            this.stripeNo = stripeNo;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(accountId, other.accountId) && Objects.equals(stripeNo, other.stripeNo);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(accountId, stripeNo);
+        }
+    }
+}
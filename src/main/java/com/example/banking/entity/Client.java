@@ -1,5 +1,11 @@
 package com.example.banking.entity;
 
+import com.example.banking.util.NameKeys;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
@@ -12,28 +18,52 @@ import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "Client_details")
+@Table(name = "Client_details", indexes = {
+        @Index(name = "idx_client_name_id", columnList = "name, id"),
+        @Index(name = "idx_client_name_key", columnList = "name_key, id"),
+        @Index(name = "idx_client_dob", columnList = "date_of_birth, id") })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "clients")
 public class Client {
 
+    /**
+     * Sequence rather than identity ids, so Hibernate can batch client inserts.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_id")
+    @SequenceGenerator(name = "client_id", sequenceName = "client_details_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", nullable = false)
     private String name;
 
+    /**
+     * Normalized form of name used for prefix search, see NameKeys. Collated
+     * by code point on PostgreSQL (schema-postgresql.sql), so prefix ranges
+     * match the in-memory index.
+     */
+    @JsonIgnore
+    @Column(name = "name_key", nullable = false)
+    private String nameKey;
+
     @Column(name = "date_of_birth", nullable = false)
     private Date dateOfBirth;
 
     @ElementCollection
-    @CollectionTable(name = "client_emails", joinColumns = @JoinColumn(name = "client_id"))
+    @CollectionTable(name = "client_emails", joinColumns = @JoinColumn(name = "client_id"), indexes = {
+            @Index(name = "idx_client_emails_email", columnList = "email, client_id"),
+            @Index(name = "idx_client_emails_client", columnList = "client_id") })
     @Column(name = "email")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "client-emails")
     @Valid
     private List<@Email(message = "Invalid email address") String> emails = new ArrayList<>();
 
     @ElementCollection
-    @CollectionTable(name = "client_phones", joinColumns = @JoinColumn(name = "client_id"))
+    @CollectionTable(name = "client_phones", joinColumns = @JoinColumn(name = "client_id"), indexes = {
+            @Index(name = "idx_client_phones_phone", columnList = "phone, client_id"),
+            @Index(name = "idx_client_phones_client", columnList = "client_id") })
     @Column(name = "phone")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "client-phones")
     @Valid
     private List<@Pattern(regexp = "^[0-9]{10}$", message = "Phone number must be 10 digits") String> phones = new ArrayList<>();
 
@@ -66,6 +96,12 @@ public class Client {
         this.password = password;
     }
 
+    @PrePersist
+    @PreUpdate
+    void updateNameKey() {
+        this.nameKey = NameKeys.normalize(name);
+    }
+
     // Getter and Setter methods
     public Long getId() {
         return id;
@@ -83,6 +119,10 @@ public class Client {
         this.name = name;
     }
 
+    public String getNameKey() {
+        return nameKey;
+    }
+
     public Date getDateOfBirth() {
         return dateOfBirth;
     }
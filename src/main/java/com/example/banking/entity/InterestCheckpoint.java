@@ -0,0 +1,94 @@
+package com.example.banking.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Progress of one partition of an interest tick. The row is advanced in the
+ * same transaction as the chunk it describes, so after a crash the partition
+ * resumes after lastAccountId without applying the increment twice.
+ */
+@Entity
+@Table(name = "interest_checkpoints")
+public class InterestCheckpoint {
+
+    @Id
+    @Column(name = "partition_no")
+    private Integer partitionNo;
+
+    @Column(name = "tick_id", nullable = false)
+    private Long tickId;
+
+    @Column(name = "range_start", nullable = false)
+    private Long rangeStart;
+
+    @Column(name = "range_end", nullable = false)
+    private Long rangeEnd;
+
+    @Column(name = "last_account_id", nullable = false)
+    private Long lastAccountId;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    // Constructors
+    public InterestCheckpoint() {
+    }
+
+    public InterestCheckpoint(Integer partitionNo, Long tickId, Long rangeStart, Long rangeEnd) {
+        this.partitionNo = partitionNo;
+        this.tickId = tickId;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.lastAccountId = rangeStart - 1;
+        this.completed = rangeStart > rangeEnd;
+    }
+
+    // Getters and Setters
+    public Integer getPartitionNo() {
+        return partitionNo;
+    }
+
+    public void setPartitionNo(Integer partitionNo) {
+        this.partitionNo = partitionNo;
+    }
+
+    public Long getTickId() {
+        return tickId;
+    }
+
+    public void setTickId(Long tickId) {
+        this.tickId = tickId;
+    }
+
+    public Long getRangeStart() {
+        return rangeStart;
+    }
+
+    public void setRangeStart(Long rangeStart) {
+        this.rangeStart = rangeStart;
+    }
+
+    public Long getRangeEnd() {
+        return rangeEnd;
+    }
+
+    public void setRangeEnd(Long rangeEnd) {
+        this.rangeEnd = rangeEnd;
+    }
+
+    public Long getLastAccountId() {
+        return lastAccountId;
+    }
+
+    public void setLastAccountId(Long lastAccountId) {
+        this.lastAccountId = lastAccountId;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.banking.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One signed balance movement. Entries are only ever inserted; the balance of
+ * an account is the sum of its entries, and Account.balance is kept as a
+ * projection of that sum in the same transaction as the insert.
+ */
+@Entity
+@Table(name = "ledger_entries", indexes = @Index(name = "idx_ledger_account", columnList = "account_id, id"))
+public class LedgerEntry {
+
+    public static final String SEQUENCE = "ledger_entries_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entry_id")
+    @SequenceGenerator(name = "ledger_entry_id", sequenceName = SEQUENCE, allocationSize = 50)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, updatable = false)
+    private Long accountId;
+
+    @Column(name = "amount", nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false, length = 16)
+    private LedgerEntryType type;
+
+    @Column(name = "correlation_id", nullable = false, updatable = false, length = 64)
+    private String correlationId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Constructors
+    public LedgerEntry() {
+    }
+
+    public LedgerEntry(Long accountId, BigDecimal amount, LedgerEntryType type, String correlationId) {
+        this.accountId = accountId;
+        this.amount = amount;
+        this.type = type;
+        this.correlationId = correlationId;
+        this.createdAt = Instant.now();
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LedgerEntryType getType() {
+        return type;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
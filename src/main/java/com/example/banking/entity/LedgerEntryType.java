@@ -0,0 +1,7 @@
+package com.example.banking.entity;
+
+public enum LedgerEntryType {
+    OPENING,
+    TRANSFER,
+    INTEREST
+}
@@ -3,13 +3,17 @@ package com.example.banking.entity;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.Builder;
 import lombok.Data;
 
+import com.example.banking.service.UserCacheInvalidator;
+
 @Entity
+@EntityListeners(UserCacheInvalidator.class)
 @Data
 @Builder
 public class MyUser {
@@ -0,0 +1,140 @@
+package com.example.banking.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+
+import org.springframework.data.domain.Persistable;
+
+/**
+ * The outcome of a transfer submitted with an Idempotency-Key. Inserted in
+ * the same transaction as the transfer itself, so a key is recorded if and
+ * only if its transfer was applied; the primary key makes a concurrent
+ * duplicate fail instead of applying the transfer twice. Keys belong to the
+ * authenticated principal that submitted them, so two callers that happen to
+ * pick the same key never see each other's transfers. Rows are only ever
+ * inserted, so isNew() is always true and save() persists without a lookup.
+ */
+@Entity
+@Table(name = "transfer_idempotency", indexes = @Index(name = "idx_transfer_idempotency_created", columnList = "created_at"))
+@IdClass(TransferIdempotency.Key.class)
+public class TransferIdempotency implements Persistable<TransferIdempotency.Key> {
+
+    @Id
+    @Column(name = "principal_name", length = 255)
+    private String principalName;
+
+    @Id
+    @Column(name = "idempotency_key", length = 128)
+    private String idempotencyKey;
+
+    @Column(name = "correlation_id", nullable = false, updatable = false, length = 64)
+    private String correlationId;
+
+    @Column(name = "from_client_id", nullable = false, updatable = false)
+    private Long fromClientId;
+
+    @Column(name = "to_client_id", nullable = false, updatable = false)
+    private Long toClientId;
+
+    @Column(name = "amount", nullable = false, updatable = false)
+    private BigDecimal amount;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    // Constructors
+    public TransferIdempotency() {
+    }
+
+    public TransferIdempotency(Key key, String correlationId, Long fromClientId, Long toClientId,
+            BigDecimal amount) {
+        this.principalName = key.principalName;
+        this.idempotencyKey = key.idempotencyKey;
+        this.correlationId = correlationId;
+        this.fromClientId = fromClientId;
+        this.toClientId = toClientId;
+        this.amount = amount;
+        this.createdAt = Instant.now();
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(principalName, idempotencyKey);
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    // Getters
+    public String getPrincipalName() {
+        return principalName;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public Long getFromClientId() {
+        return fromClientId;
+    }
+
+    public Long getToClientId() {
+        return toClientId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public static class Key implements Serializable {
+        private String principalName;
+        private String idempotencyKey;
+
+        public Key() {
+        }
+
+        public Key(String principalName, String idempotencyKey) {
+            this.principalName = principalName;
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        public String getPrincipalName() {
+            return principalName;
+        }
+
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return Objects.equals(principalName, other.principalName)
+                    && Objects.equals(idempotencyKey, other.idempotencyKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(principalName, idempotencyKey);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.banking.exception;
+
+public class AsyncTransfersDisabledException extends RuntimeException {
+    public AsyncTransfersDisabledException(String message) {
+        super(message);
+    }
+}
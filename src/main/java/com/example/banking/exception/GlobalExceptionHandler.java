@@ -1,7 +1,9 @@
 package com.example.banking.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -9,6 +11,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.HashMap;
 import java.util.Map;
 
+import com.example.banking.util.Money;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -54,4 +58,61 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String> handleInsufficientFunds(InsufficientFundsException ex) {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
+
+    @ExceptionHandler(InvalidTransferException.class)
+    public ResponseEntity<String> handleInvalidTransfer(InvalidTransferException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursor(InvalidCursorException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<String> handleServiceOverloaded(ServiceOverloadedException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ex.getMessage());
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<String> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidStripeCountException.class)
+    public ResponseEntity<String> handleInvalidStripeCount(InvalidStripeCountException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(AsyncTransfersDisabledException.class)
+    public ResponseEntity<String> handleAsyncTransfersDisabled(AsyncTransfersDisabledException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    public ResponseEntity<String> handleInvalidImport(InvalidImportException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidExportException.class)
+    public ResponseEntity<String> handleInvalidExport(InvalidExportException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    /**
+     * A body Jackson could not bind. Money amounts are converted to minor
+     * units while binding, so an amount with more than two decimal places or
+     * beyond the long range ends up here as an ArithmeticException cause.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> handleUnreadableBody(HttpMessageNotReadableException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof ArithmeticException) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Amounts must have at most "
+                        + Money.SCALE + " decimal places and be at most " + Money.toBigDecimal(Long.MAX_VALUE));
+            }
+        }
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Malformed request body");
+    }
 }
@@ -0,0 +1,7 @@
+package com.example.banking.exception;
+
+public class InvalidExportException extends RuntimeException {
+    public InvalidExportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.banking.exception;
+
+public class InvalidStripeCountException extends RuntimeException {
+    public InvalidStripeCountException(String message) {
+        super(message);
+    }
+}
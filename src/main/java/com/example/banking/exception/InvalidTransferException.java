@@ -0,0 +1,7 @@
+package com.example.banking.exception;
+
+public class InvalidTransferException extends RuntimeException {
+    public InvalidTransferException(String message) {
+        super(message);
+    }
+}
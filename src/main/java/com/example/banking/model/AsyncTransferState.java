@@ -0,0 +1,8 @@
+package com.example.banking.model;
+
+public enum AsyncTransferState {
+    PENDING,
+    APPLIED,
+    REJECTED,
+    FAILED
+}
@@ -0,0 +1,81 @@
+package com.example.banking.model;
+
+import java.math.BigDecimal;
+
+/**
+ * State of a transfer submitted to the asynchronous pipeline. PENDING until
+ * its batch commits; then APPLIED, REJECTED with the reason in legStatus, or
+ * FAILED if its transaction failed even with the transfer applied alone.
+ */
+public class AsyncTransferStatus {
+
+    private final String id;
+    private final AsyncTransferState state;
+    private final Long fromClientId;
+    private final Long toClientId;
+    private final BigDecimal amount;
+    private final TransferLegStatus legStatus;
+    private final String correlationId;
+
+    public AsyncTransferStatus(String id, AsyncTransferState state, Long fromClientId, Long toClientId,
+            BigDecimal amount, TransferLegStatus legStatus, String correlationId) {
+        this.id = id;
+        this.state = state;
+        this.fromClientId = fromClientId;
+        this.toClientId = toClientId;
+        this.amount = amount;
+        this.legStatus = legStatus;
+        this.correlationId = correlationId;
+    }
+
+    public static AsyncTransferStatus pending(String id, TransferRequest request) {
+        return new AsyncTransferStatus(id, AsyncTransferState.PENDING, request.getFromClientId(),
+                request.getToClientId(), request.getAmount(), null, null);
+    }
+
+    public AsyncTransferStatus completed(TransferLegResult result) {
+        AsyncTransferState completedState = result.getStatus() == TransferLegStatus.APPLIED
+                ? AsyncTransferState.APPLIED
+                : AsyncTransferState.REJECTED;
+        return new AsyncTransferStatus(id, completedState, fromClientId, toClientId, amount, result.getStatus(),
+                result.getCorrelationId());
+    }
+
+    public AsyncTransferStatus failed() {
+        return new AsyncTransferStatus(id, AsyncTransferState.FAILED, fromClientId, toClientId, amount, null, null);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public AsyncTransferState getState() {
+        return state;
+    }
+
+    public Long getFromClientId() {
+        return fromClientId;
+    }
+
+    public Long getToClientId() {
+        return toClientId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * Outcome of the leg once processed, null while pending or if the batch failed.
+     */
+    public TransferLegStatus getLegStatus() {
+        return legStatus;
+    }
+
+    /**
+     * Correlation id of the ledger entries, or null if the transfer was not applied.
+     */
+    public String getCorrelationId() {
+        return correlationId;
+    }
+}
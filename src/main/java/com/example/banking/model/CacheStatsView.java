@@ -0,0 +1,59 @@
+package com.example.banking.model;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Counters of one of the in-process caches, as reported by the /api/authorize cache endpoints.
+ */
+public class CacheStatsView {
+
+    private final long hits;
+    private final long misses;
+    private final double hitRate;
+    private final long evictions;
+    private final long size;
+
+    public CacheStatsView(long hits, long misses, double hitRate, long evictions, long size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRate = hitRate;
+        this.evictions = evictions;
+        this.size = size;
+    }
+
+    /**
+     * Snapshot of a Caffeine cache built with recordStats().
+     */
+    public static CacheStatsView of(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsView(stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount(),
+                cache.estimatedSize());
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatsView{hits=" + hits + ", misses=" + misses + ", hitRate=" + hitRate
+                + ", evictions=" + evictions + ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.banking.model;
+
+/**
+ * Client id to account id mapping, read without loading the Client entity,
+ * with the account's stripe count so transfers know which accounts are hot.
+ */
+public interface ClientAccountRef {
+
+    Long getClientId();
+
+    Long getAccountId();
+
+    int getAccountStripes();
+}
@@ -0,0 +1,85 @@
+package com.example.banking.model;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.example.banking.entity.Client;
+
+/**
+ * A single client as returned by the API: profile, contacts and current
+ * balance. The password and the account entity are never exposed.
+ */
+public class ClientDetail {
+
+    private final Long id;
+    private final String name;
+    private final Date dateOfBirth;
+    private final String username;
+    private final BigDecimal balance;
+    private List<String> phones = new ArrayList<>();
+    private List<String> emails = new ArrayList<>();
+
+    public ClientDetail(Long id, String name, Date dateOfBirth, String username, BigDecimal balance) {
+        this.id = id;
+        this.name = name;
+        this.dateOfBirth = dateOfBirth;
+        this.username = username;
+        this.balance = balance;
+    }
+
+    /**
+     * Detail of an entity already in memory, e.g. one just saved.
+     */
+    public static ClientDetail from(Client client) {
+        return from(client, client.getAccount() == null ? null : client.getAccount().getBalance());
+    }
+
+    /**
+     * Detail with a balance computed by the caller, e.g. including stripes.
+     */
+    public static ClientDetail from(Client client, BigDecimal balance) {
+        ClientDetail detail = new ClientDetail(client.getId(), client.getName(), client.getDateOfBirth(),
+                client.getUsername(), balance);
+        detail.setPhones(new ArrayList<>(client.getPhones()));
+        detail.setEmails(new ArrayList<>(client.getEmails()));
+        return detail;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Date getDateOfBirth() {
+        return dateOfBirth;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public List<String> getPhones() {
+        return phones;
+    }
+
+    public void setPhones(List<String> phones) {
+        this.phones = phones;
+    }
+
+    public List<String> getEmails() {
+        return emails;
+    }
+
+    public void setEmails(List<String> emails) {
+        this.emails = emails;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.banking.model;
+
+/**
+ * A row of a bulk import that was not imported.
+ */
+public class ClientImportError {
+
+    private final long line;
+    private final String username;
+    private final String message;
+
+    public ClientImportError(long line, String username, String message) {
+        this.line = line;
+        this.username = username;
+        this.message = message;
+    }
+
+    /**
+     * 1-based line number in the uploaded body.
+     */
+    public long getLine() {
+        return line;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
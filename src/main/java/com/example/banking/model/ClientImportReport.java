@@ -0,0 +1,55 @@
+package com.example.banking.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first errors are listed, so the report
+ * stays small however bad the input; failed always counts all of them.
+ */
+public class ClientImportReport {
+
+    private final long rows;
+    private final long imported;
+    private final long failed;
+    private final List<ClientImportError> errors;
+    private final boolean errorsTruncated;
+    private final long elapsedMillis;
+
+    public ClientImportReport(long rows, long imported, long failed, List<ClientImportError> errors,
+            boolean errorsTruncated, long elapsedMillis) {
+        this.rows = rows;
+        this.imported = imported;
+        this.failed = failed;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public List<ClientImportError> getErrors() {
+        return errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getClientsPerSecond() {
+        return elapsedMillis == 0 ? imported : imported * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.banking.model;
+
+import java.util.List;
+
+/**
+ * One page of search results. nextCursor is null on the last page.
+ */
+public class ClientPage<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public ClientPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.banking.model;
+
+import java.time.LocalDate;
+
+import com.example.banking.util.ContactNormalizer;
+
+/**
+ * Filters accepted by client search. All non-null fields are combined with AND.
+ */
+public class ClientSearchCriteria {
+
+    private final LocalDate dateOfBirthFrom;
+    private final LocalDate dateOfBirthTo;
+    private final String phone;
+    private final String name;
+    private final String email;
+
+    public ClientSearchCriteria(LocalDate dateOfBirthFrom, LocalDate dateOfBirthTo, String phone, String name,
+            String email) {
+        this.dateOfBirthFrom = dateOfBirthFrom;
+        this.dateOfBirthTo = dateOfBirthTo;
+        this.phone = ContactNormalizer.phone(phone);
+        this.name = name;
+        this.email = ContactNormalizer.email(email);
+    }
+
+    /**
+     * Inclusive lower bound on the date of birth.
+     */
+    public LocalDate getDateOfBirthFrom() {
+        return dateOfBirthFrom;
+    }
+
+    /**
+     * Inclusive upper bound on the date of birth.
+     */
+    public LocalDate getDateOfBirthTo() {
+        return dateOfBirthTo;
+    }
+
+    /**
+     * Exact phone number.
+     */
+    public String getPhone() {
+        return phone;
+    }
+
+    /**
+     * Name prefix.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Exact email address.
+     */
+    public String getEmail() {
+        return email;
+    }
+}
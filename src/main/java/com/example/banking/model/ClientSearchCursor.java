@@ -0,0 +1,55 @@
+package com.example.banking.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.banking.exception.InvalidCursorException;
+
+/**
+ * Position after the last client of a search page: the sort it belongs to and
+ * the sort key of that client. Handed to callers as an opaque URL-safe token.
+ */
+public class ClientSearchCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final ClientSort sort;
+    private final Long lastId;
+    private final String lastName;
+
+    public ClientSearchCursor(ClientSort sort, Long lastId, String lastName) {
+        this.sort = sort;
+        this.lastId = lastId;
+        this.lastName = lastName;
+    }
+
+    public static ClientSearchCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split("\\|", 3);
+            ClientSort sort = ClientSort.valueOf(parts[0]);
+            Long lastId = Long.valueOf(parts[1]);
+            String lastName = sort == ClientSort.NAME ? parts[2] : null;
+            return new ClientSearchCursor(sort, lastId, lastName);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            throw new InvalidCursorException("Invalid search cursor");
+        }
+    }
+
+    public String encode() {
+        String value = sort.name() + SEPARATOR + lastId + SEPARATOR + (lastName == null ? "" : lastName);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ClientSort getSort() {
+        return sort;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+}
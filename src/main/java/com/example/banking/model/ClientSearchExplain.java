@@ -0,0 +1,86 @@
+package com.example.banking.model;
+
+import java.util.List;
+
+/**
+ * Diagnostic view of a search plan with bounded row estimates per predicate.
+ */
+public class ClientSearchExplain {
+
+    private final SearchPredicate drivingPredicate;
+    private final boolean drivingLookup;
+    private final ClientSort sort;
+    private final String sortIndex;
+    private final List<PredicateEstimate> predicates;
+
+    public ClientSearchExplain(SearchPredicate drivingPredicate, boolean drivingLookup, ClientSort sort,
+            String sortIndex, List<PredicateEstimate> predicates) {
+        this.drivingPredicate = drivingPredicate;
+        this.drivingLookup = drivingLookup;
+        this.sort = sort;
+        this.sortIndex = sortIndex;
+        this.predicates = predicates;
+    }
+
+    public SearchPredicate getDrivingPredicate() {
+        return drivingPredicate;
+    }
+
+    /**
+     * True when the search reads the driving predicate's ids first and checks
+     * the other predicates against those ids only. When false, the predicates
+     * go to the database in one statement and its planner picks the index.
+     */
+    public boolean isDrivingLookup() {
+        return drivingLookup;
+    }
+
+    public ClientSort getSort() {
+        return sort;
+    }
+
+    public String getSortIndex() {
+        return sortIndex;
+    }
+
+    public List<PredicateEstimate> getPredicates() {
+        return predicates;
+    }
+
+    public static class PredicateEstimate {
+
+        private final SearchPredicate predicate;
+        private final String index;
+        private final long estimatedRows;
+        private final boolean capped;
+
+        public PredicateEstimate(SearchPredicate predicate, long estimatedRows, boolean capped) {
+            this.predicate = predicate;
+            this.index = predicate.getIndex();
+            this.estimatedRows = estimatedRows;
+            this.capped = capped;
+        }
+
+        public SearchPredicate getPredicate() {
+            return predicate;
+        }
+
+        public String getIndex() {
+            return index;
+        }
+
+        /**
+         * Rows matching this predicate alone, counted up to the estimate cap.
+         */
+        public long getEstimatedRows() {
+            return estimatedRows;
+        }
+
+        /**
+         * True when the count stopped at the cap, so the real number is at least estimatedRows.
+         */
+        public boolean isCapped() {
+            return capped;
+        }
+    }
+}
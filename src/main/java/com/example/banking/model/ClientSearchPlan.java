@@ -0,0 +1,62 @@
+package com.example.banking.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How a search will run: the criteria, the predicates ordered from most to
+ * least selective, the keyset order, the row counts the order was based on,
+ * and whether the driving predicate's matches are read first as an id list.
+ */
+public class ClientSearchPlan {
+
+    private final ClientSearchCriteria criteria;
+    private final List<SearchPredicate> predicates;
+    private final ClientSort sort;
+    private final Map<SearchPredicate, Long> estimates;
+    private final boolean drivingLookup;
+
+    public ClientSearchPlan(ClientSearchCriteria criteria, List<SearchPredicate> predicates, ClientSort sort,
+            Map<SearchPredicate, Long> estimates, boolean drivingLookup) {
+        this.criteria = criteria;
+        this.predicates = predicates;
+        this.sort = sort;
+        this.estimates = estimates;
+        this.drivingLookup = drivingLookup;
+    }
+
+    public ClientSearchCriteria getCriteria() {
+        return criteria;
+    }
+
+    public List<SearchPredicate> getPredicates() {
+        return predicates;
+    }
+
+    public ClientSort getSort() {
+        return sort;
+    }
+
+    /**
+     * Capped row counts per predicate; empty when there was nothing to choose between.
+     */
+    public Map<SearchPredicate, Long> getEstimates() {
+        return estimates;
+    }
+
+    /**
+     * True when the ids matching the driving predicate are read first and the
+     * remaining predicates are only checked against them.
+     */
+    public boolean isDrivingLookup() {
+        return drivingLookup;
+    }
+
+    /**
+     * The predicate expected to narrow the result most, or null when the
+     * search is driven by the sort order alone.
+     */
+    public SearchPredicate getDrivingPredicate() {
+        return predicates.isEmpty() ? null : predicates.get(0);
+    }
+}
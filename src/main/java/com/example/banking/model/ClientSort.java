@@ -0,0 +1,10 @@
+package com.example.banking.model;
+
+/**
+ * Orderings supported by client search. Both end in the id so the order is
+ * total and can be resumed from a cursor.
+ */
+public enum ClientSort {
+    ID,
+    NAME
+}
@@ -0,0 +1,32 @@
+package com.example.banking.model;
+
+import java.util.Date;
+
+/**
+ * Row of a client search result: only the columns a result list shows, read
+ * straight from Client_details without loading the entity.
+ */
+public class ClientSummary {
+
+    private final Long id;
+    private final String name;
+    private final Date dateOfBirth;
+
+    public ClientSummary(Long id, String name, Date dateOfBirth) {
+        this.id = id;
+        this.name = name;
+        this.dateOfBirth = dateOfBirth;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Date getDateOfBirth() {
+        return dateOfBirth;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.banking.model;
+
+/**
+ * Outcome of one interest accrual tick.
+ */
+public class InterestTickReport {
+
+    private final long tickId;
+    private final long rowsUpdated;
+    private final int chunks;
+    private final long elapsedMillis;
+    private final boolean resumed;
+
+    public InterestTickReport(long tickId, long rowsUpdated, int chunks, long elapsedMillis, boolean resumed) {
+        this.tickId = tickId;
+        this.rowsUpdated = rowsUpdated;
+        this.chunks = chunks;
+        this.elapsedMillis = elapsedMillis;
+        this.resumed = resumed;
+    }
+
+    public long getTickId() {
+        return tickId;
+    }
+
+    public long getRowsUpdated() {
+        return rowsUpdated;
+    }
+
+    public int getChunks() {
+        return chunks;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Whether this run finished a tick interrupted earlier instead of starting a new one.
+     */
+    public boolean isResumed() {
+        return resumed;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsUpdated * 1000.0 / Math.max(elapsedMillis, 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("tick %d%s: %d rows in %d chunks, %d ms (%.0f rows/s)", tickId,
+                resumed ? " (resumed)" : "", rowsUpdated, chunks, elapsedMillis, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.banking.model;
+
+/**
+ * Counters of the login executor, as returned by /api/authorize/login-stats.
+ * Times are averages and maxima in milliseconds since startup.
+ */
+public class LoginStats {
+
+    private final long accepted;
+    private final long rejected;
+    private final long failed;
+    private final int queueDepth;
+    private final int activeThreads;
+    private final double avgQueueWaitMillis;
+    private final double maxQueueWaitMillis;
+    private final double avgVerifyMillis;
+    private final double maxVerifyMillis;
+
+    public LoginStats(long accepted, long rejected, long failed, int queueDepth, int activeThreads,
+            double avgQueueWaitMillis, double maxQueueWaitMillis, double avgVerifyMillis, double maxVerifyMillis) {
+        this.accepted = accepted;
+        this.rejected = rejected;
+        this.failed = failed;
+        this.queueDepth = queueDepth;
+        this.activeThreads = activeThreads;
+        this.avgQueueWaitMillis = avgQueueWaitMillis;
+        this.maxQueueWaitMillis = maxQueueWaitMillis;
+        this.avgVerifyMillis = avgVerifyMillis;
+        this.maxVerifyMillis = maxVerifyMillis;
+    }
+
+    /**
+     * Logins admitted to the executor.
+     */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Logins turned away with 503 because the queue was full.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Admitted logins whose credentials did not verify.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public double getAvgQueueWaitMillis() {
+        return avgQueueWaitMillis;
+    }
+
+    public double getMaxQueueWaitMillis() {
+        return maxQueueWaitMillis;
+    }
+
+    /**
+     * Time spent authenticating on the login pool, dominated by the BCrypt check.
+     */
+    public double getAvgVerifyMillis() {
+        return avgVerifyMillis;
+    }
+
+    public double getMaxVerifyMillis() {
+        return maxVerifyMillis;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.banking.model;
+
+/**
+ * A client matched by name prefix.
+ */
+public class NameMatch {
+
+    private final Long id;
+    private final String name;
+
+    public NameMatch(Long id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.banking.model;
+
+/**
+ * Indexed predicates client search can apply, with the index that serves each.
+ */
+public enum SearchPredicate {
+    PHONE("idx_client_phones_phone"),
+    EMAIL("idx_client_emails_email"),
+    NAME_PREFIX("idx_client_name_key"),
+    DATE_OF_BIRTH("idx_client_dob");
+
+    private final String index;
+
+    SearchPredicate(String index) {
+        this.index = index;
+    }
+
+    public String getIndex() {
+        return index;
+    }
+}
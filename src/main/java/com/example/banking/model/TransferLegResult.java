@@ -0,0 +1,32 @@
+package com.example.banking.model;
+
+/**
+ * Outcome of one leg of a batch transfer, identified by its position in the request.
+ */
+public class TransferLegResult {
+
+    private final int index;
+    private final TransferLegStatus status;
+    private final String correlationId;
+
+    public TransferLegResult(int index, TransferLegStatus status, String correlationId) {
+        this.index = index;
+        this.status = status;
+        this.correlationId = correlationId;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public TransferLegStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Correlation id of the ledger entries, or null if the leg was not applied.
+     */
+    public String getCorrelationId() {
+        return correlationId;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.banking.model;
+
+public enum TransferLegStatus {
+    APPLIED,
+    INSUFFICIENT_FUNDS,
+    UNKNOWN_ACCOUNT,
+    INVALID_AMOUNT,
+    SAME_ACCOUNT
+}
@@ -0,0 +1,33 @@
+package com.example.banking.model;
+
+import java.math.BigDecimal;
+
+public class TransferRequest {
+    private Long fromClientId;
+    private Long toClientId;
+    private BigDecimal amount;
+
+    public Long getFromClientId() {
+        return fromClientId;
+    }
+
+    public void setFromClientId(Long fromClientId) {
+        this.fromClientId = fromClientId;
+    }
+
+    public Long getToClientId() {
+        return toClientId;
+    }
+
+    public void setToClientId(Long toClientId) {
+        this.toClientId = toClientId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.banking.model;
+
+import java.math.BigDecimal;
+
+/**
+ * A transfer that has been applied.
+ */
+public class TransferResult {
+
+    private final String correlationId;
+    private final Long fromClientId;
+    private final Long toClientId;
+    private final BigDecimal amount;
+
+    public TransferResult(String correlationId, Long fromClientId, Long toClientId, BigDecimal amount) {
+        this.correlationId = correlationId;
+        this.fromClientId = fromClientId;
+        this.toClientId = toClientId;
+        this.amount = amount;
+    }
+
+    /**
+     * Correlation id of the ledger entries written for this transfer.
+     */
+    public String getCorrelationId() {
+        return correlationId;
+    }
+
+    public Long getFromClientId() {
+        return fromClientId;
+    }
+
+    public Long getToClientId() {
+        return toClientId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.banking.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.banking.entity.Account;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface AccountRepository extends JpaRepository<Account, Long> {
+
+    @Query("select min(a.id) from Account a")
+    Long findMinId();
+
+    @Query("select max(a.id) from Account a")
+    Long findMaxId();
+
+    /**
+     * Row-lock every account in [fromId, toId] in ascending id order.
+     */
+    @Query(value = "SELECT id FROM Account_details WHERE id BETWEEN :fromId AND :toId ORDER BY id FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Add the interest ledger entries of one tick to the rows of the accounts
+     * in [fromId, toId] they belong to. The deltas were computed from row plus
+     * stripes by LedgerEntryRepository.findInterestDeltas; applying the
+     * recorded entries rather than recomputing them keeps the row in step with
+     * the ledger even if a stripe credit commits in between. Accounts without
+     * an entry, such as capped ones, are not rewritten.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.ACCOUNT_BALANCES))
+    @Query(value = "UPDATE Account_details a SET balance = balance + "
+            + "(SELECT SUM(l.amount) FROM ledger_entries l WHERE l.account_id = a.id AND l.correlation_id = :correlationId) "
+            + "WHERE a.id BETWEEN :fromId AND :toId "
+            + "AND EXISTS (SELECT 1 FROM ledger_entries l WHERE l.account_id = a.id AND l.correlation_id = :correlationId)",
+            nativeQuery = true)
+    int applyInterest(@Param("fromId") long fromId, @Param("toId") long toId,
+            @Param("correlationId") String correlationId);
+
+    /**
+     * Withdraw amount if the balance covers it. The UPDATE takes the row lock
+     * and checks funds in one round trip; returns 0 when funds are insufficient.
+     * Native with a declared query space, so it does not invalidate the whole
+     * Account cache region the way a JPQL bulk update would.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.ACCOUNT_BALANCES))
+    @Query(value = "UPDATE Account_details SET balance = balance - :amount WHERE id = :id AND balance >= :amount",
+            nativeQuery = true)
+    int debit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.ACCOUNT_BALANCES))
+    @Query(value = "UPDATE Account_details SET balance = balance + :amount WHERE id = :id", nativeQuery = true)
+    int credit(@Param("id") Long id, @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.ACCOUNT_BALANCES))
+    @Query(value = "UPDATE Account_details SET stripes = :stripes WHERE id = :id", nativeQuery = true)
+    int setStripes(@Param("id") Long id, @Param("stripes") int stripes);
+
+    /**
+     * Load and row-lock (SELECT ... FOR UPDATE) the given accounts in ascending id order.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id in :ids order by a.id")
+    List<Account> lockAllInIdOrder(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,74 @@
+package com.example.banking.repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.banking.entity.AccountStripe;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface AccountStripeRepository extends JpaRepository<AccountStripe, AccountStripe.Key> {
+
+    /**
+     * Add amount to one stripe. Returns 0 if the stripe does not exist.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.ACCOUNT_STRIPES))
+    @Query(value = "UPDATE account_stripes SET amount = amount + :amount "
+            + "WHERE account_id = :accountId AND stripe_no = :stripeNo", nativeQuery = true)
+    int credit(@Param("accountId") Long accountId, @Param("stripeNo") int stripeNo,
+            @Param("amount") BigDecimal amount);
+
+    /**
+     * Row-lock every stripe of the account in stripe order and return their amounts.
+     */
+    @Query(value = "SELECT amount FROM account_stripes WHERE account_id = :accountId ORDER BY stripe_no FOR UPDATE",
+            nativeQuery = true)
+    List<BigDecimal> lockAmounts(@Param("accountId") Long accountId);
+
+    /**
+     * {stripe number, amount} of the account's stripes that no other
+     * transaction holds, row-locked in stripe order. Stripes locked elsewhere
+     * are skipped rather than waited for.
+     */
+    @Query(value = "SELECT stripe_no, amount FROM account_stripes WHERE account_id = :accountId "
+            + "ORDER BY stripe_no FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Object[]> lockAvailableAmounts(@Param("accountId") Long accountId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.ACCOUNT_STRIPES))
+    @Query(value = "UPDATE account_stripes SET amount = 0 WHERE account_id = :accountId AND amount <> 0",
+            nativeQuery = true)
+    int clear(@Param("accountId") Long accountId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.ACCOUNT_STRIPES))
+    @Query(value = "UPDATE account_stripes SET amount = 0 WHERE account_id = :accountId "
+            + "AND stripe_no IN (:stripeNos)", nativeQuery = true)
+    int clear(@Param("accountId") Long accountId, @Param("stripeNos") Collection<Integer> stripeNos);
+
+    @Query(value = "SELECT COALESCE(SUM(amount), 0) FROM account_stripes WHERE account_id = :accountId",
+            nativeQuery = true)
+    BigDecimal sumAmounts(@Param("accountId") Long accountId);
+
+    /**
+     * {account id, sum of its stripes} for those of the given accounts that have stripes.
+     */
+    @Query(value = "SELECT account_id, SUM(amount) FROM account_stripes WHERE account_id IN (:accountIds) "
+            + "GROUP BY account_id", nativeQuery = true)
+    List<Object[]> sumAmountsByAccount(@Param("accountIds") Collection<Long> accountIds);
+
+    @Modifying
+    @Query("delete from AccountStripe s where s.accountId = :accountId")
+    int deleteByAccount(@Param("accountId") Long accountId);
+}
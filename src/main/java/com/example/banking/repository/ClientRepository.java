@@ -1,14 +1,21 @@
 package com.example.banking.repository;
 
 import com.example.banking.entity.Client;
+import com.example.banking.model.ClientAccountRef;
+import com.example.banking.model.NameMatch;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ClientRepository extends JpaRepository<Client, Long> {
+public interface ClientRepository extends JpaRepository<Client, Long>, ClientSearchRepository {
 
 	
     List<Client> findByDateOfBirthGreaterThanEqual(LocalDate dateOfBirth);    
@@ -16,6 +23,52 @@ public interface ClientRepository extends JpaRepository<Client, Long> {
     List<Client> findByNameStartingWith(String name);    
     List<Client> findByEmailsContaining(String email);    
     boolean existsByUsername(String username);    
-    boolean existsByEmailsContaining(String email); 
-    boolean existsByPhonesContaining(String phone); 
+
+    /**
+     * Ids of clients holding the phone number, read from the (phone, client_id)
+     * index without touching Client_details.
+     */
+    @Query(value = "SELECT client_id FROM client_phones WHERE phone = :phone ORDER BY client_id", nativeQuery = true)
+    List<Long> findClientIdsByPhone(@Param("phone") String phone);
+
+    @Query(value = "SELECT client_id FROM client_emails WHERE email = :email ORDER BY client_id", nativeQuery = true)
+    List<Long> findClientIdsByEmail(@Param("email") String email);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM client_emails WHERE email = :email)", nativeQuery = true)
+    boolean existsByEmailsContaining(@Param("email") String email);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM client_phones WHERE phone = :phone)", nativeQuery = true)
+    boolean existsByPhonesContaining(@Param("phone") String phone);
+
+    /**
+     * Clients whose name key lies in [fromKey, toKey), i.e. starts with a
+     * normalized prefix, in name-key order via the (name_key, id) index.
+     */
+    @Query("select new com.example.banking.model.NameMatch(c.id, c.name) from Client c "
+            + "where c.nameKey >= :fromKey and c.nameKey < :toKey order by c.nameKey, c.id")
+    List<NameMatch> findNamePrefixMatches(@Param("fromKey") String fromKey, @Param("toKey") String toKey,
+            Pageable pageable);
+
+    @Query("select new com.example.banking.model.NameMatch(c.id, c.name) from Client c "
+            + "where c.id > :afterId order by c.id")
+    List<NameMatch> findNamesAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * {client id, phone} pairs of the given clients, for loading contacts of many clients in one query.
+     */
+    @Query("select c.id, p from Client c join c.phones p where c.id in :clientIds")
+    List<Object[]> findPhonesByClientIds(@Param("clientIds") Collection<Long> clientIds);
+
+    /**
+     * {client id, email} pairs of the given clients.
+     */
+    @Query("select c.id, e from Client c join c.emails e where c.id in :clientIds")
+    List<Object[]> findEmailsByClientIds(@Param("clientIds") Collection<Long> clientIds);
+
+    @Query("select c.username from Client c where c.username in :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select c.id as clientId, c.account.id as accountId, c.account.stripes as accountStripes "
+            + "from Client c where c.id in :clientIds")
+    List<ClientAccountRef> findAccountRefs(@Param("clientIds") Collection<Long> clientIds);
 }
@@ -0,0 +1,26 @@
+package com.example.banking.repository;
+
+import java.util.List;
+
+import com.example.banking.model.ClientSearchCriteria;
+import com.example.banking.model.ClientSearchCursor;
+import com.example.banking.model.ClientSearchPlan;
+import com.example.banking.model.ClientSummary;
+import com.example.banking.model.SearchPredicate;
+
+public interface ClientSearchRepository {
+
+    /**
+     * Keyset page of clients matching every predicate of the plan: at most
+     * limit rows that sort strictly after the cursor (or from the start when
+     * it is null). Only the summary columns are selected. For a driving
+     * lookup plan the driving predicate's ids are read first, in a statement
+     * of their own.
+     */
+    List<ClientSummary> search(ClientSearchPlan plan, ClientSearchCursor after, int limit);
+
+    /**
+     * Number of clients matching a single predicate, counted up to cap.
+     */
+    long estimateRows(SearchPredicate predicate, ClientSearchCriteria criteria, int cap);
+}
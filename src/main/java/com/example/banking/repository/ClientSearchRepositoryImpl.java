@@ -0,0 +1,168 @@
+package com.example.banking.repository;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.example.banking.entity.Client;
+import com.example.banking.model.ClientSearchCriteria;
+import com.example.banking.model.ClientSearchCursor;
+import com.example.banking.model.ClientSearchPlan;
+import com.example.banking.model.ClientSort;
+import com.example.banking.model.ClientSummary;
+import com.example.banking.model.SearchPredicate;
+import com.example.banking.util.NameKeys;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+public class ClientSearchRepositoryImpl implements ClientSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ClientSummary> search(ClientSearchPlan plan, ClientSearchCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ClientSummary> query = cb.createQuery(ClientSummary.class);
+        Root<Client> client = query.from(Client.class);
+        Path<Long> id = client.get("id");
+        Path<String> name = client.get("name");
+
+        List<Predicate> predicates = new ArrayList<>();
+        List<SearchPredicate> remaining = plan.getPredicates();
+        if (plan.isDrivingLookup()) {
+            List<Long> drivingIds = findDrivingIds(plan);
+            if (drivingIds.isEmpty()) {
+                return List.of();
+            }
+            predicates.add(id.in(drivingIds));
+            remaining = remaining.subList(1, remaining.size());
+        }
+        for (SearchPredicate predicate : remaining) {
+            predicates.add(toPredicate(cb, query, client, predicate, plan.getCriteria()));
+        }
+        if (after != null) {
+            if (plan.getSort() == ClientSort.NAME) {
+                predicates.add(cb.or(cb.greaterThan(name, after.getLastName()),
+                        cb.and(cb.equal(name, after.getLastName()), cb.greaterThan(id, after.getLastId()))));
+            } else {
+                predicates.add(cb.greaterThan(id, after.getLastId()));
+            }
+        }
+
+        query.select(cb.construct(ClientSummary.class, id, name, client.get("dateOfBirth")))
+                .where(predicates.toArray(new Predicate[0]));
+        if (plan.getSort() == ClientSort.NAME) {
+            query.orderBy(cb.asc(name), cb.asc(id));
+        } else {
+            query.orderBy(cb.asc(id));
+        }
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    /**
+     * Ids of every client matching the driving predicate alone, read through
+     * that predicate's index. The planner only asks for this when the count
+     * is below its cap, so the list stays a bounded IN list.
+     */
+    private List<Long> findDrivingIds(ClientSearchPlan plan) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Client> client = query.from(Client.class);
+        query.select(client.get("id"))
+                .where(toPredicate(cb, query, client, plan.getDrivingPredicate(), plan.getCriteria()));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    /**
+     * Phone and email are applied as semi-joins on their collection tables so
+     * the exact-match index drives the lookup.
+     */
+    private Predicate toPredicate(CriteriaBuilder cb, CriteriaQuery<?> query, Root<Client> client,
+            SearchPredicate predicate, ClientSearchCriteria criteria) {
+        switch (predicate) {
+        case PHONE:
+            return client.get("id").in(clientsWithElement(cb, query, "phones", criteria.getPhone()));
+        case EMAIL:
+            return client.get("id").in(clientsWithElement(cb, query, "emails", criteria.getEmail()));
+        case NAME_PREFIX:
+            String prefixKey = NameKeys.normalize(criteria.getName());
+            String upperBound = NameKeys.upperBound(prefixKey);
+            Path<String> nameKey = client.get("nameKey");
+            Predicate lower = cb.greaterThanOrEqualTo(nameKey, prefixKey);
+            return upperBound == null ? lower : cb.and(lower, cb.lessThan(nameKey, upperBound));
+        case DATE_OF_BIRTH:
+            Path<Date> dateOfBirth = client.get("dateOfBirth");
+            List<Predicate> bounds = new ArrayList<>(2);
+            if (criteria.getDateOfBirthFrom() != null) {
+                bounds.add(cb.greaterThanOrEqualTo(dateOfBirth, toDate(criteria.getDateOfBirthFrom())));
+            }
+            if (criteria.getDateOfBirthTo() != null) {
+                bounds.add(cb.lessThan(dateOfBirth, toDate(criteria.getDateOfBirthTo().plusDays(1))));
+            }
+            return cb.and(bounds.toArray(new Predicate[0]));
+        default:
+            throw new IllegalArgumentException("Unsupported search predicate " + predicate);
+        }
+    }
+
+    private Subquery<Long> clientsWithElement(CriteriaBuilder cb, CriteriaQuery<?> query, String collection,
+            String value) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<Client> owner = subquery.from(Client.class);
+        Join<Client, String> element = owner.join(collection);
+        return subquery.select(owner.get("id")).where(cb.equal(element, value));
+    }
+
+    @Override
+    public long estimateRows(SearchPredicate predicate, ClientSearchCriteria criteria, int cap) {
+        Query query;
+        switch (predicate) {
+        case PHONE:
+            query = entityManager.createNativeQuery(
+                    "SELECT COUNT(*) FROM (SELECT 1 FROM client_phones WHERE phone = :value LIMIT :cap) t")
+                    .setParameter("value", criteria.getPhone());
+            break;
+        case EMAIL:
+            query = entityManager.createNativeQuery(
+                    "SELECT COUNT(*) FROM (SELECT 1 FROM client_emails WHERE email = :value LIMIT :cap) t")
+                    .setParameter("value", criteria.getEmail());
+            break;
+        case NAME_PREFIX:
+            String prefixKey = NameKeys.normalize(criteria.getName());
+            String upperBound = NameKeys.upperBound(prefixKey);
+            query = entityManager.createNativeQuery(
+                    "SELECT COUNT(*) FROM (SELECT 1 FROM Client_details WHERE name_key >= :from AND name_key < :to LIMIT :cap) t")
+                    .setParameter("from", prefixKey)
+                    .setParameter("to", upperBound == null ? String.valueOf(Character.MAX_VALUE) : upperBound);
+            break;
+        case DATE_OF_BIRTH:
+            LocalDate from = criteria.getDateOfBirthFrom() != null ? criteria.getDateOfBirthFrom() : LocalDate.of(1, 1, 1);
+            LocalDate to = criteria.getDateOfBirthTo() != null ? criteria.getDateOfBirthTo() : LocalDate.of(9999, 12, 30);
+            query = entityManager.createNativeQuery(
+                    "SELECT COUNT(*) FROM (SELECT 1 FROM Client_details WHERE date_of_birth >= :from "
+                            + "AND date_of_birth < :to LIMIT :cap) t")
+                    .setParameter("from", toDate(from))
+                    .setParameter("to", toDate(to.plusDays(1)));
+            break;
+        default:
+            throw new IllegalArgumentException("Unsupported search predicate " + predicate);
+        }
+        return ((Number) query.setParameter("cap", cap).getSingleResult()).longValue();
+    }
+
+    private static Date toDate(LocalDate date) {
+        return Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
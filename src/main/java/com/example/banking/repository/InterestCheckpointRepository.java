@@ -0,0 +1,28 @@
+package com.example.banking.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.banking.entity.InterestCheckpoint;
+
+@Repository
+public interface InterestCheckpointRepository extends JpaRepository<InterestCheckpoint, Integer> {
+
+    List<InterestCheckpoint> findAllByOrderByPartitionNo();
+
+    /**
+     * Move a partition's checkpoint forward. Guarded by tick id and the previous
+     * position so a stale worker cannot rewind or double-advance it.
+     */
+    @Modifying
+    @Query("update InterestCheckpoint c set c.lastAccountId = :lastAccountId, c.completed = :completed "
+            + "where c.partitionNo = :partitionNo and c.tickId = :tickId and c.lastAccountId = :expectedLastAccountId")
+    int advance(@Param("partitionNo") Integer partitionNo, @Param("tickId") Long tickId,
+            @Param("expectedLastAccountId") Long expectedLastAccountId, @Param("lastAccountId") Long lastAccountId,
+            @Param("completed") boolean completed);
+}
@@ -0,0 +1,62 @@
+package com.example.banking.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.banking.entity.LedgerEntry;
+
+import org.hibernate.jpa.HibernateHints;
+
+import jakarta.persistence.QueryHint;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+
+    /**
+     * {account id, interest delta} for every account in [fromId, toId] that the
+     * interest step changes. The step applies to the whole balance, row plus
+     * stripes, which becomes min(total * rate, initialBalance * cap) rounded to
+     * cents; stripes are only read, not locked, so a hot account keeps taking
+     * credits while interest runs. The rows must be locked by the caller.
+     */
+    @Query(value = "SELECT t.id, ROUND(LEAST(t.total * :rate, t.initial_balance * :cap), 2) - t.total "
+            + "FROM (SELECT a.id, a.initial_balance, a.balance "
+            + "+ COALESCE((SELECT SUM(s.amount) FROM account_stripes s WHERE s.account_id = a.id), 0) AS total "
+            + "FROM Account_details a WHERE a.id BETWEEN :fromId AND :toId) t "
+            + "WHERE t.total <> ROUND(LEAST(t.total * :rate, t.initial_balance * :cap), 2) ORDER BY t.id",
+            nativeQuery = true)
+    List<Object[]> findInterestDeltas(@Param("fromId") long fromId, @Param("toId") long toId,
+            @Param("rate") BigDecimal rate, @Param("cap") BigDecimal cap);
+
+    /**
+     * Ids of accounts in [fromId, toId] whose stored balance, including any
+     * stripes, differs from the sum of their ledger entries.
+     */
+    @Query(value = "SELECT a.id FROM Account_details a "
+            + "WHERE a.id BETWEEN :fromId AND :toId "
+            + "AND a.balance + COALESCE((SELECT SUM(s.amount) FROM account_stripes s WHERE s.account_id = a.id), 0) "
+            + "<> COALESCE((SELECT SUM(l.amount) FROM ledger_entries l WHERE l.account_id = a.id), 0) "
+            + "ORDER BY a.id", nativeQuery = true)
+    List<Long> findDiscrepancies(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Recompute the stored balance of accounts in [fromId, toId] from the
+     * ledger. Stripes are left as they are and the row takes the remainder;
+     * both sums are read in the one statement, so a stripe credit committing
+     * meanwhile is seen in both or in neither.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.ACCOUNT_BALANCES))
+    @Query(value = "UPDATE Account_details a "
+            + "SET balance = COALESCE((SELECT SUM(l.amount) FROM ledger_entries l WHERE l.account_id = a.id), 0) "
+            + "- COALESCE((SELECT SUM(s.amount) FROM account_stripes s WHERE s.account_id = a.id), 0) "
+            + "WHERE a.id BETWEEN :fromId AND :toId", nativeQuery = true)
+    int rebuildBalances(@Param("fromId") long fromId, @Param("toId") long toId);
+}
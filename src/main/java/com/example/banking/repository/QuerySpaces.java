@@ -0,0 +1,25 @@
+package com.example.banking.repository;
+
+/**
+ * Query spaces declared on native modifying queries through the
+ * org.hibernate.query.native.spaces hint. A native UPDATE or INSERT without
+ * declared spaces makes Hibernate invalidate every second-level cache region.
+ * These names match no mapped table, so nothing is invalidated implicitly;
+ * the callers evict exactly the accounts they touched through
+ * AccountCacheInvalidator instead.
+ */
+public final class QuerySpaces {
+
+    /**
+     * Native balance updates on Account_details.
+     */
+    public static final String ACCOUNT_BALANCES = "account_balances";
+
+    /**
+     * Native updates on account_stripes, which is not cached.
+     */
+    public static final String ACCOUNT_STRIPES = "account_stripes";
+
+    private QuerySpaces() {
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.banking.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.example.banking.entity.TransferIdempotency;
+
+@Repository
+public interface TransferIdempotencyRepository extends JpaRepository<TransferIdempotency, TransferIdempotency.Key> {
+
+    @Modifying
+    @Query("delete from TransferIdempotency t where t.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+
+    /**
+     * Delete one key if it was recorded before cutoff, so it can be recorded again.
+     */
+    @Modifying
+    @Query("delete from TransferIdempotency t where t.principalName = :principalName "
+            + "and t.idempotencyKey = :idempotencyKey and t.createdAt < :cutoff")
+    int deleteIfCreatedBefore(@Param("principalName") String principalName,
+            @Param("idempotencyKey") String idempotencyKey, @Param("cutoff") Instant cutoff);
+}
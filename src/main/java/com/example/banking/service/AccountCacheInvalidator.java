@@ -0,0 +1,51 @@
+package com.example.banking.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.banking.entity.Account;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Evicts accounts changed by native balance updates from the second-level
+ * cache. Entity writes keep the cache current by themselves; statements that
+ * bypass the entity (transfers, interest, ledger rebuild) call this with the
+ * ids they changed. The entries are dropped immediately and again after
+ * commit, so a read racing the transaction cannot leave the old balance cached.
+ */
+@Component
+public class AccountCacheInvalidator {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    public void evict(Long... accountIds) {
+        evict(List.of(accountIds));
+    }
+
+    public void evict(Collection<Long> accountIds) {
+        Cache cache = entityManagerFactory.getCache();
+        evictNow(cache, accountIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(cache, accountIds);
+                }
+            });
+        }
+    }
+
+    private static void evictNow(Cache cache, Collection<Long> accountIds) {
+        for (Long accountId : accountIds) {
+            cache.evict(Account.class, accountId);
+        }
+    }
+}
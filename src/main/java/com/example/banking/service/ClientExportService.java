@@ -0,0 +1,194 @@
+package com.example.banking.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.model.ClientDetail;
+import com.example.banking.repository.AccountStripeRepository;
+import com.example.banking.repository.ClientRepository;
+import com.example.banking.util.Csv;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Streams every client after a given id, in id order, as NDJSON (one
+ * ClientDetail per line) or CSV. Clients come from one forward-only cursor
+ * read fetchSize rows at a time; each window of fetchSize clients gets its
+ * phones, emails and stripe balances in one query each, is written and
+ * flushed, and is then detached, so the heap holds one window whatever the
+ * size of the table. Rows are in id order, so an interrupted export resumes
+ * with afterId set to the last id received.
+ */
+@Service
+public class ClientExportService {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private static final String CSV_HEADER = "id,name,dateOfBirth,username,balance,phones,emails\n";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AccountStripeRepository stripeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.clientExport.fetchSize:500}")
+    private int fetchSize;
+
+    public void export(OutputStream out, Format format, long afterId) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        // Read-only transaction: PostgreSQL only streams with a fetch size when autocommit is off.
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            try {
+                writeClients(writer, format, afterId);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+
+    private void writeClients(Writer writer, Format format, long afterId) throws IOException {
+        try (Stream<Client> clients = entityManager
+                .createQuery("select c from Client c left join fetch c.account where c.id > :afterId order by c.id",
+                        Client.class)
+                .setParameter("afterId", afterId)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS)
+                .setHint(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS)
+                .getResultStream()) {
+            List<Client> window = new ArrayList<>(fetchSize);
+            Iterator<Client> iterator = clients.iterator();
+            while (iterator.hasNext()) {
+                window.add(iterator.next());
+                if (window.size() == fetchSize) {
+                    writeWindow(window, writer, format);
+                }
+            }
+            if (!window.isEmpty()) {
+                writeWindow(window, writer, format);
+            }
+        }
+    }
+
+    private void writeWindow(List<Client> window, Writer writer, Format format) throws IOException {
+        List<Long> clientIds = new ArrayList<>(window.size());
+        List<Long> hotAccountIds = new ArrayList<>();
+        for (Client client : window) {
+            clientIds.add(client.getId());
+            Account account = client.getAccount();
+            if (account != null && account.getStripes() > 0) {
+                hotAccountIds.add(account.getId());
+            }
+        }
+        Map<Long, List<String>> phones = group(clientRepository.findPhonesByClientIds(clientIds));
+        Map<Long, List<String>> emails = group(clientRepository.findEmailsByClientIds(clientIds));
+        Map<Long, BigDecimal> stripeBalances = new HashMap<>();
+        if (!hotAccountIds.isEmpty()) {
+            for (Object[] row : stripeRepository.sumAmountsByAccount(hotAccountIds)) {
+                stripeBalances.put(((Number) row[0]).longValue(), (BigDecimal) row[1]);
+            }
+        }
+
+        for (Client client : window) {
+            Account account = client.getAccount();
+            BigDecimal balance = null;
+            if (account != null) {
+                balance = account.getBalance().add(stripeBalances.getOrDefault(account.getId(), BigDecimal.ZERO));
+            }
+            ClientDetail detail = new ClientDetail(client.getId(), client.getName(), client.getDateOfBirth(),
+                    client.getUsername(), balance);
+            detail.setPhones(phones.getOrDefault(client.getId(), List.of()));
+            detail.setEmails(emails.getOrDefault(client.getId(), List.of()));
+            if (format == Format.CSV) {
+                writeCsv(writer, detail);
+            } else {
+                writer.write(objectMapper.writeValueAsString(detail));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+        meterRegistry.counter("banking.export.rows", "format", format.name().toLowerCase()).increment(window.size());
+        window.clear();
+        entityManager.clear();
+    }
+
+    private static void writeCsv(Writer writer, ClientDetail detail) throws IOException {
+        writer.write(String.valueOf(detail.getId()));
+        writer.write(',');
+        writer.write(Csv.quote(detail.getName()));
+        writer.write(',');
+        if (detail.getDateOfBirth() != null) {
+            writer.write(DateTimeFormatter.ISO_LOCAL_DATE
+                    .format(Instant.ofEpochMilli(detail.getDateOfBirth().getTime()).atZone(ZoneOffset.UTC)));
+        }
+        writer.write(',');
+        writer.write(Csv.quote(detail.getUsername()));
+        writer.write(',');
+        writer.write(detail.getBalance() == null ? "" : detail.getBalance().toPlainString());
+        writer.write(',');
+        writer.write(Csv.quote(String.join(";", detail.getPhones())));
+        writer.write(',');
+        writer.write(Csv.quote(String.join(";", detail.getEmails())));
+        writer.write('\n');
+    }
+
+    private static Map<Long, List<String>> group(List<Object[]> pairs) {
+        Map<Long, List<String>> grouped = new HashMap<>();
+        for (Object[] pair : pairs) {
+            grouped.computeIfAbsent((Long) pair[0], id -> new ArrayList<>(2)).add((String) pair[1]);
+        }
+        return grouped;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.banking.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.exception.InvalidImportException;
+import com.example.banking.util.Csv;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Reads an import body one row at a time, so memory does not grow with the
+ * size of the upload. NDJSON rows are the JSON accepted by POST
+ * /api/clients/create. CSV needs a header naming the columns name,
+ * dateOfBirth (yyyy-MM-dd), username, password and balance, optionally
+ * initialBalance (defaults to balance), phones and emails (';'-separated),
+ * in the format of Csv.
+ */
+abstract class ClientImportReader {
+
+    /**
+     * One input row: the parsed client, or the reason it could not be parsed
+     * or validated.
+     */
+    static class Row {
+
+        final long line;
+        final Client client;
+        String error;
+
+        Row(long line, Client client, String error) {
+            this.line = line;
+            this.client = client;
+            this.error = error;
+        }
+
+        String username() {
+            return client == null ? null : client.getUsername();
+        }
+    }
+
+    private final BufferedReader reader;
+    private long line;
+
+    ClientImportReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    static ClientImportReader ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new ClientImportReader(reader) {
+            @Override
+            Row parse(long line, String text) {
+                try {
+                    Client client = objectMapper.readValue(text, Client.class);
+                    if (client == null) {
+                        return new Row(line, null, "Invalid row: expected a JSON object, got null");
+                    }
+                    return new Row(line, client, null);
+                } catch (JsonProcessingException e) {
+                    return new Row(line, null, "Malformed JSON: " + e.getOriginalMessage());
+                }
+            }
+        };
+    }
+
+    static ClientImportReader csv(BufferedReader reader) throws IOException {
+        String header = reader.readLine();
+        if (header == null) {
+            throw new InvalidImportException("CSV import needs a header row");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = Csv.split(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("name", "dateofbirth", "username", "password", "balance")) {
+            if (!columns.containsKey(required)) {
+                throw new InvalidImportException("CSV header is missing column " + required);
+            }
+        }
+        ClientImportReader csvReader = new ClientImportReader(reader) {
+            @Override
+            Row parse(long line, String text) {
+                List<String> fields = Csv.split(text);
+                try {
+                    BigDecimal balance = new BigDecimal(required(fields, columns, "balance"));
+                    String initial = field(fields, columns, "initialbalance");
+                    Account account = new Account(balance, initial == null ? balance : new BigDecimal(initial));
+                    Date dateOfBirth = Date.from(LocalDate.parse(required(fields, columns, "dateofbirth"))
+                            .atStartOfDay(ZoneOffset.UTC).toInstant());
+                    Client client = new Client(field(fields, columns, "name"), dateOfBirth,
+                            list(field(fields, columns, "emails")), list(field(fields, columns, "phones")), account,
+                            field(fields, columns, "username"), field(fields, columns, "password"));
+                    return new Row(line, client, null);
+                } catch (ArithmeticException e) {
+                    return new Row(line, null, "Invalid row: amounts must have at most 2 decimal places");
+                } catch (RuntimeException e) {
+                    return new Row(line, null, "Invalid row: " + e.getMessage());
+                }
+            }
+        };
+        csvReader.line = 1;
+        return csvReader;
+    }
+
+    abstract Row parse(long line, String text);
+
+    /**
+     * The next non-blank row, or null at the end of the body.
+     */
+    Row next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            line++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+        return parse(line, text);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String required(List<String> fields, Map<String, Integer> columns, String name) {
+        String value = field(fields, columns, name);
+        if (value == null) {
+            throw new IllegalArgumentException(name + " is missing");
+        }
+        return value;
+    }
+
+    private static List<String> list(String value) {
+        List<String> values = new ArrayList<>();
+        if (value != null) {
+            for (String part : value.split(";")) {
+                if (!part.isBlank()) {
+                    values.add(part.trim());
+                }
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.banking.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.banking.entity.Client;
+import com.example.banking.entity.LedgerEntry;
+import com.example.banking.model.ClientImportError;
+import com.example.banking.model.ClientImportReport;
+import com.example.banking.model.NameMatch;
+import com.example.banking.repository.ClientRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Bulk client import. The body is read in chunks of chunkSize rows; while
+ * one chunk is written, the next is parsed and validated on importExecutor
+ * with the same rules as createClient. Usernames are checked per chunk with
+ * one IN query, and each chunk is inserted in one transaction with batched
+ * statements: clients, accounts, contacts and opening ledger entries. At most
+ * two chunks are held at a time, whatever the size of the upload.
+ */
+@Service
+public class ClientImportService {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private NamePrefixIndex namePrefixIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    @Qualifier("importExecutor")
+    private ThreadPoolTaskExecutor importExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.clientImport.chunkSize:1000}")
+    private int chunkSize;
+
+    @Value("${app.clientImport.validationSlices:4}")
+    private int validationSlices;
+
+    @Value("${app.clientImport.maxReportedErrors:1000}")
+    private int maxReportedErrors;
+
+    /**
+     * Running totals of one import.
+     */
+    private class Tally {
+
+        long rows;
+        long imported;
+        long failed;
+        final List<ClientImportError> errors = new ArrayList<>();
+
+        void fail(ClientImportReader.Row row) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ClientImportError(row.line, row.username(), row.error));
+            }
+        }
+    }
+
+    public ClientImportReport importClients(InputStream body, Format format) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        ClientImportReader reader = format == Format.CSV ? ClientImportReader.csv(lines)
+                : ClientImportReader.ndjson(lines, objectMapper);
+        Tally tally = new Tally();
+
+        List<ClientImportReader.Row> chunk = read(reader);
+        CompletableFuture<Void> validated = validate(chunk);
+        while (!chunk.isEmpty()) {
+            List<ClientImportReader.Row> next = read(reader);
+            CompletableFuture<Void> nextValidated = validate(next);
+            validated.join();
+            write(chunk, tally);
+            chunk = next;
+            validated = nextValidated;
+        }
+
+        meterRegistry.counter("banking.import.rows", "outcome", "imported").increment(tally.imported);
+        meterRegistry.counter("banking.import.rows", "outcome", "failed").increment(tally.failed);
+        return new ClientImportReport(tally.rows, tally.imported, tally.failed, tally.errors,
+                tally.failed > tally.errors.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private List<ClientImportReader.Row> read(ClientImportReader reader) throws IOException {
+        List<ClientImportReader.Row> rows = new ArrayList<>(chunkSize);
+        ClientImportReader.Row row;
+        while (rows.size() < chunkSize && (row = reader.next()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Validate a chunk in validationSlices parallel slices.
+     */
+    private CompletableFuture<Void> validate(List<ClientImportReader.Row> rows) {
+        if (rows.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        int sliceSize = (rows.size() + validationSlices - 1) / validationSlices;
+        List<CompletableFuture<Void>> slices = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += sliceSize) {
+            List<ClientImportReader.Row> slice = rows.subList(from, Math.min(from + sliceSize, rows.size()));
+            slices.add(CompletableFuture.runAsync(() -> slice.forEach(this::validate), importExecutor));
+        }
+        return CompletableFuture.allOf(slices.toArray(new CompletableFuture[0]));
+    }
+
+    private void validate(ClientImportReader.Row row) {
+        if (row.error != null) {
+            return;
+        }
+        Client client = row.client;
+        if (client.getName() == null || client.getName().isBlank()) {
+            row.error = "Name is required";
+            return;
+        }
+        if (client.getDateOfBirth() == null) {
+            row.error = "Date of birth is required";
+            return;
+        }
+        if (client.getAccount() == null) {
+            row.error = "Account is required";
+            return;
+        }
+        Set<ConstraintViolation<Client>> violations = validator.validate(client);
+        if (!violations.isEmpty()) {
+            row.error = violations.iterator().next().getMessage();
+            return;
+        }
+        try {
+            clientService.validateNewClient(client);
+        } catch (RuntimeException e) {
+            row.error = e.getMessage();
+        }
+    }
+
+    private void write(List<ClientImportReader.Row> rows, Tally tally) {
+        tally.rows += rows.size();
+        Set<String> usernames = new HashSet<>();
+        for (ClientImportReader.Row row : rows) {
+            if (row.error == null && !usernames.add(row.username())) {
+                row.error = "Duplicate username in import: " + row.username();
+            }
+        }
+        if (!usernames.isEmpty()) {
+            Set<String> existing = new HashSet<>(clientRepository.findExistingUsernames(usernames));
+            for (ClientImportReader.Row row : rows) {
+                if (row.error == null && existing.contains(row.username())) {
+                    row.error = "Username already exists: " + row.username();
+                }
+            }
+        }
+
+        List<ClientImportReader.Row> valid = new ArrayList<>(rows.size());
+        for (ClientImportReader.Row row : rows) {
+            if (row.error == null) {
+                valid.add(row);
+            } else {
+                tally.fail(row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> insert(valid));
+            tally.imported += valid.size();
+        } catch (RuntimeException e) {
+            // Something only the database saw, e.g. a username created concurrently:
+            // retry the chunk row by row to find out which rows are at fault.
+            for (ClientImportReader.Row row : valid) {
+                insertOne(row, tally);
+            }
+        }
+    }
+
+    private void insert(List<ClientImportReader.Row> rows) {
+        // The imported clients are not about to be read; keep them out of the second-level cache.
+        entityManager.setProperty("jakarta.persistence.cache.storeMode", CacheStoreMode.BYPASS);
+        List<Client> clients = new ArrayList<>(rows.size());
+        for (ClientImportReader.Row row : rows) {
+            clients.add(row.client);
+        }
+        clientRepository.saveAll(clients);
+        entityManager.flush();
+        List<LedgerEntry> openings = new ArrayList<>(clients.size());
+        List<NameMatch> names = new ArrayList<>(clients.size());
+        for (Client client : clients) {
+            openings.add(ledgerService.openingEntry(client.getAccount().getId(), client.getAccount().getBalance()));
+            names.add(new NameMatch(client.getId(), client.getName()));
+        }
+        ledgerService.saveAll(openings);
+        entityManager.flush();
+        entityManager.clear();
+        // Names enter the index when the chunk commits; a chunk that rolls
+        // back and is retried row by row leaves no ids behind.
+        namePrefixIndex.onSaved(names);
+    }
+
+    private void insertOne(ClientImportReader.Row row, Tally tally) {
+        row.client.setId(null);
+        row.client.getAccount().setId(null);
+        try {
+            clientService.createClient(row.client);
+            tally.imported++;
+        } catch (RuntimeException e) {
+            row.error = e.getMessage();
+            tally.fail(row);
+        }
+    }
+}
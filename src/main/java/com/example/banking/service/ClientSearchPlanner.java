@@ -0,0 +1,86 @@
+package com.example.banking.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.banking.model.ClientSearchCriteria;
+import com.example.banking.model.ClientSearchPlan;
+import com.example.banking.model.ClientSort;
+import com.example.banking.model.SearchPredicate;
+import com.example.banking.repository.ClientRepository;
+
+/**
+ * Picks the predicate that drives a search. With a single predicate the
+ * database has nothing to choose between. With several, each is counted
+ * against its own index up to drivingLookupCap, and the one matching the
+ * fewest clients drives; ties fall back to the static order (exact phone and
+ * email matches, then a name prefix, then a date-of-birth range). When the
+ * driving predicate matches fewer than drivingLookupCap clients, the search
+ * reads those ids first and checks the other predicates against them only,
+ * so the access path is the one chosen here rather than the database's.
+ */
+@Component
+public class ClientSearchPlanner {
+
+    private static final int SHORT_NAME_PREFIX = 3;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Value("${app.search.drivingLookupCap:1000}")
+    private int drivingLookupCap;
+
+    public ClientSearchPlan plan(ClientSearchCriteria criteria, ClientSort sort) {
+        List<SearchPredicate> predicates = new ArrayList<>();
+        if (criteria.getPhone() != null) {
+            predicates.add(SearchPredicate.PHONE);
+        }
+        if (criteria.getEmail() != null) {
+            predicates.add(SearchPredicate.EMAIL);
+        }
+        if (criteria.getName() != null && !criteria.getName().isEmpty()) {
+            predicates.add(SearchPredicate.NAME_PREFIX);
+        }
+        if (criteria.getDateOfBirthFrom() != null || criteria.getDateOfBirthTo() != null) {
+            predicates.add(SearchPredicate.DATE_OF_BIRTH);
+        }
+        Comparator<SearchPredicate> byCost = Comparator.comparingInt(predicate -> cost(predicate, criteria));
+        if (predicates.size() < 2) {
+            return new ClientSearchPlan(criteria, predicates, sort, Map.of(), false);
+        }
+
+        Map<SearchPredicate, Long> estimates = new EnumMap<>(SearchPredicate.class);
+        for (SearchPredicate predicate : predicates) {
+            estimates.put(predicate, clientRepository.estimateRows(predicate, criteria, drivingLookupCap));
+        }
+        predicates.sort(Comparator.<SearchPredicate>comparingLong(estimates::get).thenComparing(byCost));
+        boolean drivingLookup = estimates.get(predicates.get(0)) < drivingLookupCap;
+        return new ClientSearchPlan(criteria, predicates, sort, estimates, drivingLookup);
+    }
+
+    /**
+     * Relative cost of driving the query with a predicate; lower is more selective.
+     */
+    private int cost(SearchPredicate predicate, ClientSearchCriteria criteria) {
+        switch (predicate) {
+        case PHONE:
+            return 1;
+        case EMAIL:
+            return 2;
+        case NAME_PREFIX:
+            return criteria.getName().length() >= SHORT_NAME_PREFIX ? 3 : 5;
+        case DATE_OF_BIRTH:
+            boolean bounded = criteria.getDateOfBirthFrom() != null && criteria.getDateOfBirthTo() != null;
+            return bounded ? 4 : 6;
+        default:
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -1,71 +1,143 @@
 package com.example.banking.service;
 
 import com.example.banking.entity.Client;
+import com.example.banking.entity.TransferIdempotency;
+import com.example.banking.model.AsyncTransferStatus;
+import com.example.banking.model.ClientDetail;
+import com.example.banking.model.ClientPage;
+import com.example.banking.model.ClientSearchCriteria;
+import com.example.banking.model.ClientSearchCursor;
+import com.example.banking.model.ClientSearchExplain;
+import com.example.banking.model.ClientSearchPlan;
+import com.example.banking.model.ClientSort;
+import com.example.banking.model.ClientSummary;
+import com.example.banking.model.InterestTickReport;
+import com.example.banking.model.NameMatch;
+import com.example.banking.model.SearchPredicate;
+import com.example.banking.model.TransferLegResult;
+import com.example.banking.model.TransferRequest;
+import com.example.banking.model.TransferResult;
 import com.example.banking.repository.ClientRepository;
+import com.example.banking.util.ClientValidation;
+import com.example.banking.util.ContactNormalizer;
+import com.example.banking.util.NameKeys;
 import com.example.banking.exception.DuplicateUsernameException;
-import com.example.banking.exception.InsufficientFundsException;
+import com.example.banking.exception.InvalidCursorException;
 import com.example.banking.exception.InvalidEmailException;
+import com.example.banking.exception.InvalidTransferException;
 import com.example.banking.exception.InvalidPhoneNumberException;
 import com.example.banking.exception.NegativeAccountBalanceException;
 import com.example.banking.exception.ResourceNotFoundException;
 import com.example.banking.exception.UsernameAlreadyExistsException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class ClientService {
 
-	private static final Pattern PHONE_PATTERN = Pattern.compile("^\\d{10}$");
-    private static final String EMAIL_REGEX = "^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$";
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
-
+	private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
 
 	@Autowired
 	private ClientRepository clientRepository;
 
+	@Autowired
+	private InterestAccrualService interestAccrualService;
+
+	@Autowired
+	private TransferService transferService;
+
+	@Autowired
+	private LedgerService ledgerService;
+
+	@Autowired
+	private ClientSearchPlanner clientSearchPlanner;
+
+	@Autowired
+	private NamePrefixIndex namePrefixIndex;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private TransferIdempotencyStore idempotencyStore;
+
+	@Autowired
+	private HotAccountService hotAccounts;
+
+	@Autowired
+	private TransferPipeline transferPipeline;
+
+	@Value("${app.search.maxPageSize:100}")
+	private int maxPageSize;
+
+	@Value("${app.search.explainEstimateCap:10000}")
+	private int explainEstimateCap;
+
 	/**
 	 * Create a new client with initial data.
 	 */
+	@Transactional
 	public Client createClient(Client client) {
 		if (clientRepository.existsByUsername(client.getUsername())) {
 			throw new DuplicateUsernameException("Username already exists: " + client.getUsername());
 		}
+		validateNewClient(client);
+		Client savedClient = clientRepository.save(client);
+		ledgerService.recordOpening(savedClient.getAccount().getId(), savedClient.getAccount().getBalance());
+		namePrefixIndex.onSaved(savedClient.getId(), savedClient.getName());
+		return savedClient;
+	}
+
+	/**
+	 * Normalize a new client's contacts and check them and the opening
+	 * balance. Needs no database access, so bulk import runs it in parallel.
+	 */
+	public void validateNewClient(Client client) {
+		client.setPhones(ContactNormalizer.phones(client.getPhones()));
+		client.setEmails(ContactNormalizer.emails(client.getEmails()));
 		for (String phone : client.getPhones()) {
-			if (!PHONE_PATTERN.matcher(phone).matches()) {
+			if (!ClientValidation.isValidPhone(phone)) {
 				throw new InvalidPhoneNumberException("Invalid phone number: " + phone);
 			}
 		}
 		for (String email : client.getEmails()) {
-			if (!EMAIL_PATTERN.matcher(email).matches()) {
+			if (!ClientValidation.isValidEmail(email)) {
 				throw new InvalidEmailException("Invalid email address: " + email);
 			}
 		}
-		if (client.getAccount().getBalance().compareTo(BigDecimal.ZERO) < 0) {
+		if (client.getAccount().getBalanceMinorUnits() < 0) {
 			throw new NegativeAccountBalanceException("Account balance cannot be negative");
 		}
-		return clientRepository.save(client);
 	}
 
 	/**
-	 * Update a client.
+	 * Update a client. The account is kept as stored: balances only change
+	 * through transfers and interest, which are recorded in the ledger.
 	 */
+	@Transactional
 	public Client updateClient(Client client) {
-		if (!clientRepository.existsById(client.getId())) {
-			throw new ResourceNotFoundException("Client not found");
-		}
-		if (client.getAccount().getBalance().compareTo(BigDecimal.ZERO) < 0) {
-			throw new NegativeAccountBalanceException("Account balance cannot be negative");
-		}
-		return clientRepository.save(client);
+		Client existingClient = clientRepository.findById(client.getId())
+				.orElseThrow(() -> new ResourceNotFoundException("Client not found"));
+		client.setAccount(existingClient.getAccount());
+		client.setPhones(ContactNormalizer.phones(client.getPhones()));
+		client.setEmails(ContactNormalizer.emails(client.getEmails()));
+		Client savedClient = clientRepository.save(client);
+		namePrefixIndex.onSaved(savedClient.getId(), savedClient.getName());
+		return savedClient;
 	}
 
 	/**
@@ -76,30 +148,93 @@ public class ClientService {
 			throw new ResourceNotFoundException("Client not found");
 		}
 		clientRepository.deleteById(clientId);
+		namePrefixIndex.onDeleted(clientId);
 	}
 
 	/**
-	 * Get a client by ID.
+	 * Get a client's detail view by ID. Loaded as entities so the client, its
+	 * account and its contacts are served from the second-level cache when
+	 * present, without touching the database.
 	 */
-	public Optional<Client> getClientById(Long clientId) {
-		return clientRepository.findById(clientId);
+	@Transactional
+	public Optional<ClientDetail> getClientById(Long clientId) {
+		return clientRepository.findById(clientId).map(this::toDetail);
 	}
 
 	/**
-	 * Search clients by various criteria.
+	 * Detail view of a loaded client, with a hot account's stripes added to its balance.
 	 */
-	public List<Client> searchClients(LocalDate dateOfBirth, String phone, String name, String email) {
-		if (dateOfBirth != null) {
-			return clientRepository.findByDateOfBirthGreaterThanEqual(dateOfBirth);
-		} else if (phone != null) {
-			return clientRepository.findByPhonesContaining(phone);
-		} else if (name != null) {
-			return clientRepository.findByNameStartingWith(name);
-		} else if (email != null) {
-			return clientRepository.findByEmailsContaining(email);
-		} else {
-			return clientRepository.findAll();
+	public ClientDetail toDetail(Client client) {
+		if (client.getAccount() == null) {
+			return ClientDetail.from(client);
+		}
+		return ClientDetail.from(client, hotAccounts.balanceOf(client.getAccount()));
+	}
+
+	/**
+	 * Stripe the client's account for high credit concurrency, or 0 to undo it.
+	 */
+	public void setAccountStripes(Long clientId, int stripes) {
+		hotAccounts.setStripes(clientId, stripes);
+	}
+
+	/**
+	 * Search clients by any combination of criteria, one keyset page at a time.
+	 * A page is a single statement selecting only the summary columns.
+	 */
+	public ClientPage<ClientSummary> searchClients(ClientSearchCriteria criteria, ClientSort sort, String cursor, int size) {
+		int pageSize = Math.max(1, Math.min(size, maxPageSize));
+		ClientSearchCursor after = null;
+		if (cursor != null && !cursor.isEmpty()) {
+			after = ClientSearchCursor.decode(cursor);
+			if (after.getSort() != sort) {
+				throw new InvalidCursorException("Cursor does not match sort " + sort);
+			}
+		}
+		ClientSearchPlan plan = clientSearchPlanner.plan(criteria, sort);
+		SearchPredicate driving = plan.getDrivingPredicate();
+		long start = System.nanoTime();
+		List<ClientSummary> clients = clientRepository.search(plan, after, pageSize + 1);
+		meterRegistry.timer("banking.search", "driving", driving == null ? "none" : driving.name(), "sort", sort.name())
+				.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		String nextCursor = null;
+		if (clients.size() > pageSize) {
+			clients = clients.subList(0, pageSize);
+			ClientSummary last = clients.get(pageSize - 1);
+			nextCursor = new ClientSearchCursor(sort, last.getId(), last.getName()).encode();
 		}
+		return new ClientPage<>(clients, nextCursor);
+	}
+
+	/**
+	 * Top clients whose name starts with the prefix, ignoring case and accents.
+	 * Served from the in-memory index once it is loaded, from the name_key
+	 * index in the database until then.
+	 */
+	public List<NameMatch> searchNames(String prefix, int limit) {
+		int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+		if (namePrefixIndex.isReady()) {
+			return namePrefixIndex.topK(prefix, pageSize);
+		}
+		String prefixKey = NameKeys.normalize(prefix);
+		String upperBound = NameKeys.upperBound(prefixKey);
+		return clientRepository.findNamePrefixMatches(prefixKey,
+				upperBound == null ? String.valueOf(Character.MAX_VALUE) : upperBound, PageRequest.of(0, pageSize));
+	}
+
+	/**
+	 * Describe how a search would run: the plan searchClients would use, with
+	 * row estimates per predicate counted up to the explain cap.
+	 */
+	public ClientSearchExplain explainSearch(ClientSearchCriteria criteria, ClientSort sort) {
+		ClientSearchPlan plan = clientSearchPlanner.plan(criteria, sort);
+		List<ClientSearchExplain.PredicateEstimate> estimates = new ArrayList<>();
+		for (SearchPredicate predicate : plan.getPredicates()) {
+			long rows = clientRepository.estimateRows(predicate, criteria, explainEstimateCap);
+			estimates.add(new ClientSearchExplain.PredicateEstimate(predicate, rows, rows >= explainEstimateCap));
+		}
+		String sortIndex = sort == ClientSort.NAME ? "idx_client_name_id" : "primary key";
+		return new ClientSearchExplain(plan.getDrivingPredicate(), plan.isDrivingLookup(), sort, sortIndex, estimates);
 	}
 
 	/**
@@ -110,9 +245,9 @@ public class ClientService {
 				.orElseThrow(() -> new ResourceNotFoundException("Client not found"));
 
 		List<String> phones = client.getPhones();
-		int index = phones.indexOf(oldPhone);
+		int index = phones.indexOf(ContactNormalizer.phone(oldPhone));
 		if (index != -1) {
-			phones.set(index, newPhone);
+			phones.set(index, ContactNormalizer.phone(newPhone));
 			client.setPhones(phones);
 			clientRepository.save(client);
 		} else {
@@ -128,9 +263,9 @@ public class ClientService {
 				.orElseThrow(() -> new ResourceNotFoundException("Client not found"));
 
 		List<String> emails = client.getEmails();
-		int index = emails.indexOf(oldEmail);
+		int index = emails.indexOf(ContactNormalizer.email(oldEmail));
 		if (index != -1) {
-			emails.set(index, newEmail);
+			emails.set(index, ContactNormalizer.email(newEmail));
 			client.setEmails(emails);
 			clientRepository.save(client);
 		} else {
@@ -147,7 +282,7 @@ public class ClientService {
 				.orElseThrow(() -> new ResourceNotFoundException("Client not found"));
 
 		List<String> phones = client.getPhones();
-		if (phones.size() > 1 && phones.remove(phone)) {
+		if (phones.size() > 1 && phones.remove(ContactNormalizer.phone(phone))) {
 			client.setPhones(phones);
 			clientRepository.save(client);
 		} else {
@@ -163,7 +298,7 @@ public class ClientService {
 				.orElseThrow(() -> new ResourceNotFoundException("Client not found"));
 
 		List<String> emails = client.getEmails();
-		if (emails.size() > 1 && emails.remove(email)) {
+		if (emails.size() > 1 && emails.remove(ContactNormalizer.email(email))) {
 			client.setEmails(emails);
 			clientRepository.save(client);
 		} else {
@@ -178,6 +313,20 @@ public class ClientService {
 		return clientRepository.findByDateOfBirthGreaterThanEqual(dateOfBirth);
 	}
 
+	/**
+	 * Ids of the clients holding a phone number, resolved from the phone index alone.
+	 */
+	public List<Long> findClientIdsByPhone(String phone) {
+		return clientRepository.findClientIdsByPhone(ContactNormalizer.phone(phone));
+	}
+
+	/**
+	 * Ids of the clients holding an email address, resolved from the email index alone.
+	 */
+	public List<Long> findClientIdsByEmail(String email) {
+		return clientRepository.findClientIdsByEmail(ContactNormalizer.email(email));
+	}
+
 	/**
 	 * Search clients by phone number.
 	 */
@@ -202,52 +351,83 @@ public class ClientService {
 	/**
 	 * Transfer money between accounts. Ensures the balance never goes negative.
 	 */
-	@Transactional
-	public void transferMoney(Long fromClientId, Long toClientId, BigDecimal amount) {
-		 Client fromClient = clientRepository.findById(fromClientId)
-	                .orElseThrow(() -> new ResourceNotFoundException("Sender client not found"));
-	        Client toClient = clientRepository.findById(toClientId)
-	                .orElseThrow(() -> new ResourceNotFoundException("Recipient client not found"));
-	        synchronized (fromClient) {
-	            synchronized (toClient) {
-	                if (fromClient.getAccount().getBalance().compareTo(amount) < 0) {
-	                    throw new InsufficientFundsException("Insufficient funds");
-	                }
-	                fromClient.getAccount().setBalance(fromClient.getAccount().getBalance().subtract(amount));
-	                toClient.getAccount().setBalance(toClient.getAccount().getBalance().add(amount));
-	                if (fromClient.getAccount().getBalance().compareTo(BigDecimal.ZERO) < 0) {
-	                    throw new NegativeAccountBalanceException("Account balance cannot be negative");
-	                }
-	                if (toClient.getAccount().getBalance().compareTo(BigDecimal.ZERO) < 0) {
-	                    throw new NegativeAccountBalanceException("Account balance cannot be negative");
-	                }
-
-	                clientRepository.save(fromClient);
-	                clientRepository.save(toClient);
-	            }
-	        }
-	}
-	/**
-	 * Increment the balance of all clients by 5% every minute, but not more than
-	 * 207% of the initial balance.
+	public TransferResult transferMoney(Long fromClientId, Long toClientId, BigDecimal amount) {
+		return transferService.transfer(fromClientId, toClientId, amount);
+	}
+
+	/**
+	 * Transfer money at most once per idempotency key of the given principal.
+	 * A repeated key returns the recorded result without transferring again;
+	 * a transfer that failed was not recorded, so retrying its key runs it
+	 * again. The same key sent by another principal is a different key.
 	 */
-	@Transactional
-	public void incrementBalance() {
-		List<Client> clients = clientRepository.findAll();
-
-		for (Client client : clients) {
-			BigDecimal initialBalance = client.getAccount().getInitialBalance();
-			BigDecimal currentBalance = client.getAccount().getBalance();
-			BigDecimal maxBalance = initialBalance.multiply(new BigDecimal("2.07"));
-			BigDecimal increment = currentBalance.multiply(new BigDecimal("0.05"));
-
-			if (currentBalance.add(increment).compareTo(maxBalance) > 0) {
-				client.getAccount().setBalance(maxBalance);
-			} else {
-				client.getAccount().setBalance(currentBalance.add(increment));
-			}
+	public TransferResult transferMoney(String principalName, String idempotencyKey, Long fromClientId,
+			Long toClientId, BigDecimal amount) {
+		TransferIdempotency.Key key = idempotencyKey(principalName, idempotencyKey);
+		if (key == null) {
+			return transferMoney(fromClientId, toClientId, amount);
+		}
+		Optional<TransferResult> previous = idempotencyStore.find(key, fromClientId, toClientId, amount);
+		if (previous.isPresent()) {
+			meterRegistry.counter("banking.transfers.idempotent.replays").increment();
+			return previous.get();
+		}
+		try {
+			return transferService.transfer(key, fromClientId, toClientId, amount);
+		} catch (DataIntegrityViolationException e) {
+			// A concurrent request with the same key committed first; this one rolled back.
+			return idempotencyStore.find(key, fromClientId, toClientId, amount).orElseThrow(() -> e);
+		}
+	}
 
-			clientRepository.save(client);
+	/**
+	 * Apply a batch of transfers in one transaction, reporting each leg's outcome.
+	 */
+	public List<TransferLegResult> transferBatch(List<TransferRequest> legs) {
+		return transferService.transferBatch(legs);
+	}
+
+	/**
+	 * Queue a transfer on the asynchronous pipeline; it is applied with the
+	 * next group-committed batch of its partition.
+	 */
+	public TransferPipeline.Submission submitTransfer(TransferRequest request) {
+		return transferPipeline.submit(request);
+	}
+
+	/**
+	 * Queue a transfer on the asynchronous pipeline at most once per
+	 * idempotency key of the given principal. Keys are shared with
+	 * synchronous transfers.
+	 */
+	public TransferPipeline.Submission submitTransfer(String principalName, String idempotencyKey,
+			TransferRequest request) {
+		return transferPipeline.submit(idempotencyKey(principalName, idempotencyKey), request);
+	}
+
+	/**
+	 * The principal's scoped key, or null without an Idempotency-Key.
+	 */
+	private static TransferIdempotency.Key idempotencyKey(String principalName, String idempotencyKey) {
+		if (idempotencyKey == null) {
+			return null;
+		}
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+			throw new InvalidTransferException(
+					"Idempotency-Key must be 1 to " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
 		}
+		return new TransferIdempotency.Key(principalName, idempotencyKey);
+	}
+
+	public Optional<AsyncTransferStatus> getTransferStatus(String id) {
+		return transferPipeline.getStatus(id);
+	}
+
+	/**
+	 * Increment the balance of all clients by 5%, but not more than 207% of the
+	 * initial balance. Runs every minute through InterestAccrualService.
+	 */
+	public InterestTickReport incrementBalance() {
+		return interestAccrualService.runTick();
 	}
 }
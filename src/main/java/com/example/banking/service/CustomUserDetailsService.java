@@ -1,31 +1,156 @@
 package com.example.banking.service;
 
 
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import com.example.banking.entity.Client;
 import com.example.banking.entity.MyUser;
+import com.example.banking.model.CacheStatsView;
 import com.example.banking.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
+/**
+ * Loads users for authentication through two bounded caches: one for known
+ * users and a shorter-lived one for usernames that do not exist, so neither
+ * an authenticated request nor a probe for an unknown name reaches the
+ * database every time. Entries are dropped by UserCacheInvalidator whenever
+ * a MyUser is saved or deleted; cachedUsernames maps each cached user's id to
+ * the name it is cached under, so a renamed user is evicted directly.
+ *
+ * As a UserDetailsPasswordService it also receives re-encoded hashes from the
+ * authentication provider when a stored hash is weaker than the configured
+ * BCrypt cost, so hashes are upgraded transparently on login.
+ */
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
 	@Autowired
 	UserRepository userRepo;
-	
-	
+
+	private final Cache<String, CachedUser> users;
+	private final Cache<String, Boolean> unknownUsernames;
+	private final ConcurrentMap<Long, String> cachedUsernames = new ConcurrentHashMap<>();
+
+	public CustomUserDetailsService(@Value("${app.security.userCache.maxSize:10000}") long maxSize,
+			@Value("${app.security.userCache.ttlSeconds:300}") long ttlSeconds,
+			@Value("${app.security.userCache.negativeMaxSize:10000}") long negativeMaxSize,
+			@Value("${app.security.userCache.negativeTtlSeconds:30}") long negativeTtlSeconds,
+			MeterRegistry meterRegistry) {
+		this.users = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+				.recordStats()
+				// Inline, so the id mapping of a replaced entry is dropped
+				// before the put that replaced it records the new one.
+				.executor(Runnable::run)
+				.removalListener((String username, CachedUser user, RemovalCause cause) -> {
+					if (user != null && user.id != null) {
+						cachedUsernames.remove(user.id, username);
+					}
+				})
+				.build();
+		this.unknownUsernames = Caffeine.newBuilder()
+				.maximumSize(negativeMaxSize)
+				.expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+				.recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+		CaffeineCacheMetrics.monitor(meterRegistry, unknownUsernames, "unknown.usernames");
+	}
+
 	@Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-
-		MyUser user = userRepo.findByUsername(username).get();
-		return User.builder().username(user.getUsername()).password(user.getPassword())
+		if (username == null) {
+			throw new UsernameNotFoundException("User not found");
+		}
+		CachedUser cached = users.getIfPresent(username);
+		if (cached == null) {
+			if (unknownUsernames.getIfPresent(username) != null) {
+				throw new UsernameNotFoundException("User not found: " + username);
+			}
+			Optional<MyUser> user = userRepo.findByUsername(username);
+			if (user.isEmpty()) {
+				unknownUsernames.put(username, Boolean.TRUE);
+				throw new UsernameNotFoundException("User not found: " + username);
+			}
+			cached = new CachedUser(user.get());
+			users.put(username, cached);
+			if (cached.id != null) {
+				cachedUsernames.put(cached.id, username);
+			}
+		}
+		// A fresh User every call: the authentication manager erases the
+		// credentials of the instance it is given, which must not reach the cache.
+		return User.builder().username(cached.username).password(cached.password)
 				.build();
 
 	}
 
-}
\ No newline at end of file
+	@Override
+	public UserDetails updatePassword(UserDetails user, String newPassword) {
+		userRepo.findByUsername(user.getUsername()).ifPresent(myUser -> {
+			myUser.setPassword(newPassword);
+			userRepo.save(myUser);
+		});
+		return User.withUserDetails(user).password(newPassword).build();
+	}
+
+	/**
+	 * Forget everything cached about a user, under its current name and any
+	 * name it was cached under before a rename.
+	 */
+	public void evict(Long id, String username) {
+		if (username != null) {
+			users.invalidate(username);
+			unknownUsernames.invalidate(username);
+		}
+		if (id != null) {
+			String cachedUsername = cachedUsernames.remove(id);
+			if (cachedUsername != null) {
+				users.invalidate(cachedUsername);
+			}
+		}
+	}
+
+	public CacheStatsView getUserCacheStats() {
+		return CacheStatsView.of(users);
+	}
+
+	public CacheStatsView getUnknownUserCacheStats() {
+		return CacheStatsView.of(unknownUsernames);
+	}
+
+	/**
+	 * Immutable copy of the fields authentication needs, detached from the
+	 * persistence context.
+	 */
+	private static final class CachedUser {
+
+		private final Long id;
+		private final String username;
+		private final String password;
+
+		CachedUser(MyUser user) {
+			this.id = user.getId();
+			this.username = user.getUsername();
+			this.password = user.getPassword();
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+package com.example.banking.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.AccountStripe;
+import com.example.banking.exception.InvalidStripeCountException;
+import com.example.banking.exception.ResourceNotFoundException;
+import com.example.banking.model.ClientAccountRef;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.repository.AccountStripeRepository;
+import com.example.banking.repository.ClientRepository;
+import com.example.banking.util.Money;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+
+/**
+ * Striped balances for hot accounts. A hot account's balance is its
+ * Account_details row plus K AccountStripe rows; credits go to a random
+ * stripe so they do not queue on one row lock, debits that the row alone
+ * cannot cover sweep the stripes into the row first, and reads add the
+ * stripes up.
+ *
+ * Lock order is (account id, row before stripes, stripe number). The single
+ * transfer path follows it, so it cannot deadlock with other transfers.
+ * Batch transfers lock whole id ranges up front, so they sweep hot accounts
+ * in separate short transactions before taking their locks, and while
+ * holding them only take stripes that are free (sweepAvailable). Interest
+ * only reads the stripes and adds its step to the row, so it takes no stripe
+ * locks.
+ */
+@Service
+public class HotAccountService {
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountStripeRepository stripeRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AccountCacheInvalidator accountCacheInvalidator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.accounts.hot.maxStripes:64}")
+    private int maxStripes;
+
+    /**
+     * Stripe the client's account K ways, or make it a normal account again
+     * with 0. Money already on stripes is swept into the row first.
+     */
+    @Transactional
+    public void setStripes(Long clientId, int stripes) {
+        if (stripes < 0 || stripes > maxStripes) {
+            throw new InvalidStripeCountException("Stripe count must be between 0 and " + maxStripes);
+        }
+        List<ClientAccountRef> refs = clientRepository.findAccountRefs(List.of(clientId));
+        if (refs.isEmpty() || refs.get(0).getAccountId() == null) {
+            throw new ResourceNotFoundException("Client not found");
+        }
+        Long accountId = refs.get(0).getAccountId();
+        sweep(accountId);
+        stripeRepository.deleteByAccount(accountId);
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            stripeRepository.save(new AccountStripe(accountId, stripe));
+        }
+        accountRepository.setStripes(accountId, stripes);
+        accountCacheInvalidator.evict(accountId);
+    }
+
+    /**
+     * Credit a hot account on one of its stripes, chosen at random. The
+     * stripe count is the caller's unlocked read, so setStripes may have
+     * removed that stripe since; the credit then goes to the row, which is
+     * always part of the balance. No stripe lock is held at that point, so
+     * taking the row lock keeps to the lock order.
+     */
+    public void credit(Long accountId, int stripes, BigDecimal amount) {
+        int stripe = ThreadLocalRandom.current().nextInt(stripes);
+        if (stripeRepository.credit(accountId, stripe, amount) == 0) {
+            accountRepository.credit(accountId, amount);
+            meterRegistry.counter("banking.account.stripe.misses").increment();
+        }
+    }
+
+    /**
+     * Move everything on the account's stripes onto its row, in the caller's
+     * transaction: locks the row, then the stripes in order. Returns the amount
+     * moved, in minor units.
+     */
+    public long sweep(Long accountId) {
+        accountRepository.lockIdRange(accountId, accountId);
+        long total = 0;
+        for (BigDecimal amount : stripeRepository.lockAmounts(accountId)) {
+            total = Money.add(total, Money.toMinorUnits(amount));
+        }
+        if (total != 0) {
+            stripeRepository.clear(accountId);
+            accountRepository.credit(accountId, Money.toBigDecimal(total));
+            accountCacheInvalidator.evict(accountId);
+            meterRegistry.counter("banking.account.stripe.sweeps").increment();
+        }
+        return total;
+    }
+
+    /**
+     * Move what is on the account's free stripes onto its row, in the
+     * caller's transaction. For callers that already hold the row, and the
+     * rows of higher ids, as a managed entity: the amount is added to the
+     * entity, which the caller flushes, and stripes held by another
+     * transaction are skipped instead of waited for, so this cannot deadlock
+     * against the lock order. Returns the amount moved, in minor units.
+     */
+    public long sweepAvailable(Account account) {
+        long total = 0;
+        List<Integer> stripeNos = new ArrayList<>();
+        for (Object[] stripe : stripeRepository.lockAvailableAmounts(account.getId())) {
+            long amount = Money.toMinorUnits((BigDecimal) stripe[1]);
+            if (amount != 0) {
+                stripeNos.add(((Number) stripe[0]).intValue());
+                total = Money.add(total, amount);
+            }
+        }
+        if (total != 0) {
+            stripeRepository.clear(account.getId(), stripeNos);
+            account.setBalanceMinorUnits(Money.add(account.getBalanceMinorUnits(), total));
+            accountCacheInvalidator.evict(account.getId());
+            meterRegistry.counter("banking.account.stripe.sweeps").increment();
+        }
+        return total;
+    }
+
+    /**
+     * Sweep each account in its own transaction. For callers that are about
+     * to lock a range of account rows and must not hold them while waiting
+     * for stripes.
+     */
+    public void sweepSeparately(Collection<Long> accountIds) {
+        TransactionTemplate sweepTransaction = new TransactionTemplate(transactionManager);
+        sweepTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (Long accountId : accountIds) {
+            sweepTransaction.executeWithoutResult(status -> sweep(accountId));
+        }
+    }
+
+    /**
+     * The account's full balance: its row plus its stripes.
+     */
+    public BigDecimal balanceOf(Account account) {
+        if (account.getStripes() == 0) {
+            return account.getBalance();
+        }
+        return account.getBalance().add(stripeRepository.sumAmounts(account.getId()));
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.banking.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.banking.entity.InterestCheckpoint;
+import com.example.banking.model.InterestTickReport;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.repository.InterestCheckpointRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Applies the interest step as set-based SQL over Account_details. The account
+ * id space is split into partitions that run concurrently on the interest
+ * executor; each partition walks its range in bounded chunks, committing every
+ * chunk together with its checkpoint and its INTEREST ledger entries. A tick
+ * interrupted by a crash is resumed from the checkpoints before a new tick is
+ * started.
+ */
+@Service
+public class InterestAccrualService {
+
+    private static final Logger log = LoggerFactory.getLogger(InterestAccrualService.class);
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private InterestCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private AccountCacheInvalidator accountCacheInvalidator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("interestExecutor")
+    private ThreadPoolTaskExecutor interestExecutor;
+
+    @Value("${app.interest.chunkSize:5000}")
+    private int chunkSize;
+
+    @Value("${app.interest.partitions:4}")
+    private int partitions;
+
+    @Scheduled(fixedRateString = "${app.interest.rateMs:60000}")
+    public void scheduledTick() {
+        InterestTickReport report = runTick();
+        log.info("Interest tick: {}", report);
+    }
+
+    /**
+     * Run one interest tick over all accounts, or finish the previous tick if it
+     * was interrupted.
+     */
+    public InterestTickReport runTick() {
+        long start = System.nanoTime();
+        List<InterestCheckpoint> checkpoints = checkpointRepository.findAllByOrderByPartitionNo();
+        boolean resuming = checkpoints.stream().anyMatch(checkpoint -> !checkpoint.isCompleted());
+        if (!resuming) {
+            checkpoints = startTick(checkpoints);
+            if (checkpoints.isEmpty()) {
+                return new InterestTickReport(0, 0, 0, 0, false);
+            }
+        }
+        long tickId = checkpoints.get(0).getTickId();
+
+        List<Future<long[]>> results = new ArrayList<>();
+        for (InterestCheckpoint checkpoint : checkpoints) {
+            if (!checkpoint.isCompleted()) {
+                results.add(interestExecutor.submit(() -> runPartition(checkpoint)));
+            }
+        }
+
+        long rows = 0;
+        int chunks = 0;
+        for (Future<long[]> result : results) {
+            try {
+                long[] partitionResult = result.get();
+                rows += partitionResult[0];
+                chunks += (int) partitionResult[1];
+            } catch (ExecutionException e) {
+                log.error("Interest partition failed in tick {}, it will be resumed next tick", tickId, e.getCause());
+                meterRegistry.counter("banking.interest.partition.failures").increment();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        meterRegistry.timer("banking.interest.tick", "resumed", String.valueOf(resuming))
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("banking.interest.rows").increment(rows);
+        meterRegistry.counter("banking.interest.chunks").increment(chunks);
+        return new InterestTickReport(tickId, rows, chunks, elapsedNanos / 1_000_000, resuming);
+    }
+
+    /**
+     * Replace the previous tick's checkpoints with a fresh set of partitions
+     * covering the current account id range.
+     */
+    private List<InterestCheckpoint> startTick(List<InterestCheckpoint> previous) {
+        Long minId = accountRepository.findMinId();
+        Long maxId = accountRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return List.of();
+        }
+        long tickId = previous.isEmpty() ? 1 : previous.get(0).getTickId() + 1;
+        long partitionSize = Math.max(1, (maxId - minId + partitions) / partitions);
+
+        List<InterestCheckpoint> checkpoints = new ArrayList<>();
+        for (int partition = 0; partition < partitions; partition++) {
+            long rangeStart = minId + partition * partitionSize;
+            long rangeEnd = partition == partitions - 1 ? maxId : Math.min(rangeStart + partitionSize - 1, maxId);
+            checkpoints.add(new InterestCheckpoint(partition, tickId, rangeStart, rangeEnd));
+        }
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            checkpointRepository.deleteAllInBatch();
+            return checkpointRepository.saveAll(checkpoints);
+        });
+    }
+
+    /**
+     * Walk one partition from its checkpoint to the end of its range. Returns
+     * {rows updated, chunks committed}.
+     */
+    private long[] runPartition(InterestCheckpoint checkpoint) {
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        long rows = 0;
+        long chunks = 0;
+        long last = checkpoint.getLastAccountId();
+        while (last < checkpoint.getRangeEnd()) {
+            long from = last + 1;
+            long to = Math.min(last + chunkSize, checkpoint.getRangeEnd());
+            long expected = last;
+            Integer updated = chunkTransaction.execute(status -> {
+                int advanced = checkpointRepository.advance(checkpoint.getPartitionNo(), checkpoint.getTickId(),
+                        expected, to, to == checkpoint.getRangeEnd());
+                if (advanced == 0) {
+                    return null;
+                }
+                accountCacheInvalidator.evict(accountRepository.lockIdRange(from, to));
+                ledgerService.recordInterest(from, to, checkpoint.getTickId());
+                return accountRepository.applyInterest(from, to,
+                        LedgerService.interestCorrelationId(checkpoint.getTickId()));
+            });
+            if (updated == null) {
+                log.warn("Checkpoint of partition {} moved concurrently, abandoning it in tick {}",
+                        checkpoint.getPartitionNo(), checkpoint.getTickId());
+                break;
+            }
+            rows += updated;
+            chunks++;
+            last = to;
+        }
+        return new long[] { rows, chunks };
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.banking.service;
+
+import java.math.BigDecimal;
+
+import com.example.banking.util.Money;
+
+/**
+ * Interest rules: every tick the balance grows by 5%, but never above 207% of
+ * the initial balance.
+ */
+public final class InterestPolicy {
+
+    public static final BigDecimal RATE_MULTIPLIER = new BigDecimal("1.05");
+    public static final BigDecimal CAP_MULTIPLIER = new BigDecimal("2.07");
+
+    /**
+     * The multipliers as fixed-point factors for Money.multiply.
+     */
+    private static final int FACTOR_SCALE = 2;
+    private static final long RATE_FACTOR = RATE_MULTIPLIER.movePointRight(FACTOR_SCALE).longValueExact();
+    private static final long CAP_FACTOR = CAP_MULTIPLIER.movePointRight(FACTOR_SCALE).longValueExact();
+
+    private InterestPolicy() {
+    }
+
+    /**
+     * Per-account form of the set-based step in LedgerEntryRepository.findInterestDeltas.
+     */
+    public static BigDecimal accrue(BigDecimal balance, BigDecimal initialBalance) {
+        BigDecimal maxBalance = initialBalance.multiply(CAP_MULTIPLIER);
+        BigDecimal accrued = balance.multiply(RATE_MULTIPLIER);
+        return accrued.compareTo(maxBalance) > 0 ? maxBalance : accrued;
+    }
+
+    /**
+     * Minor-unit form of accrue, rounded to cents like the set-based update.
+     * Allocation-free.
+     */
+    public static long accrue(long balance, long initialBalance) {
+        return Math.min(Money.multiply(balance, RATE_FACTOR, FACTOR_SCALE),
+                Money.multiply(initialBalance, CAP_FACTOR, FACTOR_SCALE));
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.banking.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.banking.entity.LedgerEntry;
+import com.example.banking.entity.LedgerEntryType;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.repository.LedgerEntryRepository;
+
+/**
+ * Writes the append-only ledger and rebuilds balances from it. Recording
+ * methods join the caller's transaction so the ledger entries and the
+ * Account.balance projection always commit together.
+ */
+@Service
+public class LedgerService {
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AccountCacheInvalidator accountCacheInvalidator;
+
+    @Value("${app.ledger.chunkSize:5000}")
+    private int chunkSize;
+
+    public static String newCorrelationId() {
+        return UUID.randomUUID().toString();
+    }
+
+    public static String interestCorrelationId(long tickId) {
+        return "interest-" + tickId;
+    }
+
+    /**
+     * Record the opening balance of a new account.
+     */
+    public void recordOpening(Long accountId, BigDecimal balance) {
+        ledgerEntryRepository.save(openingEntry(accountId, balance));
+    }
+
+    /**
+     * Build the opening entry of a new account, for callers that save many in one batch.
+     */
+    public LedgerEntry openingEntry(Long accountId, BigDecimal balance) {
+        return new LedgerEntry(accountId, balance, LedgerEntryType.OPENING, newCorrelationId());
+    }
+
+    /**
+     * Record a transfer as a debit and a credit sharing one correlation id.
+     */
+    public String recordTransfer(Long fromAccountId, Long toAccountId, BigDecimal amount) {
+        String correlationId = newCorrelationId();
+        ledgerEntryRepository.saveAll(transferEntries(fromAccountId, toAccountId, amount, correlationId));
+        return correlationId;
+    }
+
+    /**
+     * Build the debit/credit pair of a transfer, for callers that save many in one batch.
+     */
+    public List<LedgerEntry> transferEntries(Long fromAccountId, Long toAccountId, BigDecimal amount,
+            String correlationId) {
+        List<LedgerEntry> entries = new ArrayList<>(2);
+        entries.add(new LedgerEntry(fromAccountId, amount.negate(), LedgerEntryType.TRANSFER, correlationId));
+        entries.add(new LedgerEntry(toAccountId, amount, LedgerEntryType.TRANSFER, correlationId));
+        return entries;
+    }
+
+    public void saveAll(List<LedgerEntry> entries) {
+        ledgerEntryRepository.saveAll(entries);
+    }
+
+    /**
+     * Record the interest step for an id range. The range must already be
+     * locked by the caller's transaction. The entries take their ids from the
+     * entity's pooled sequence and are inserted in JDBC batches; a per-row
+     * nextval in SQL would use up a whole id block for every entry. They are
+     * flushed before returning, since AccountRepository.applyInterest reads
+     * them back.
+     */
+    public int recordInterest(long fromId, long toId, long tickId) {
+        String correlationId = interestCorrelationId(tickId);
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (Object[] delta : ledgerEntryRepository.findInterestDeltas(fromId, toId, InterestPolicy.RATE_MULTIPLIER,
+                InterestPolicy.CAP_MULTIPLIER)) {
+            entries.add(new LedgerEntry(((Number) delta[0]).longValue(), (BigDecimal) delta[1],
+                    LedgerEntryType.INTEREST, correlationId));
+        }
+        ledgerEntryRepository.saveAllAndFlush(entries);
+        return entries.size();
+    }
+
+    /**
+     * Ids of accounts whose stored balance no longer matches the ledger.
+     */
+    public List<Long> findDiscrepancies() {
+        List<Long> discrepancies = new ArrayList<>();
+        Long minId = accountRepository.findMinId();
+        Long maxId = accountRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return discrepancies;
+        }
+        for (long from = minId; from <= maxId; from += chunkSize) {
+            discrepancies.addAll(ledgerEntryRepository.findDiscrepancies(from, Math.min(from + chunkSize - 1, maxId)));
+        }
+        return discrepancies;
+    }
+
+    /**
+     * Recompute every stored balance from the ledger, one locked id range per
+     * transaction. Returns the number of accounts rewritten.
+     */
+    public long rebuildBalances() {
+        Long minId = accountRepository.findMinId();
+        Long maxId = accountRepository.findMaxId();
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+        TransactionTemplate chunkTransaction = new TransactionTemplate(transactionManager);
+        long rows = 0;
+        for (long chunkStart = minId; chunkStart <= maxId; chunkStart += chunkSize) {
+            long from = chunkStart;
+            long to = Math.min(chunkStart + chunkSize - 1, maxId);
+            Integer updated = chunkTransaction.execute(status -> {
+                accountCacheInvalidator.evict(accountRepository.lockIdRange(from, to));
+                return ledgerEntryRepository.rebuildBalances(from, to);
+            });
+            rows += updated == null ? 0 : updated;
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.banking.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.example.banking.exception.ServiceOverloadedException;
+import com.example.banking.model.LoginStats;
+import com.example.banking.util.JwtUtil;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Verifies login credentials on the dedicated login pool instead of the
+ * request thread, so a burst of BCrypt checks cannot occupy every Tomcat
+ * thread. The pool's queue is bounded; once it is full further logins are
+ * refused immediately with ServiceOverloadedException rather than waiting.
+ */
+@Service
+public class LoginService implements MeterBinder {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    @Qualifier("loginExecutor")
+    private ThreadPoolTaskExecutor loginExecutor;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+    private final AtomicLong maxQueueWaitNanos = new AtomicLong();
+    private final AtomicLong maxVerifyNanos = new AtomicLong();
+
+    /**
+     * Authenticate on the login pool and complete with a JWT for the user.
+     */
+    public CompletableFuture<String> authenticate(String username, String password) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            CompletableFuture<String> token = CompletableFuture.supplyAsync(
+                    () -> verify(username, password, enqueuedAt), loginExecutor);
+            accepted.increment();
+            return token;
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            throw new ServiceOverloadedException("Too many logins in progress, please retry shortly");
+        }
+    }
+
+    public LoginStats getStats() {
+        ThreadPoolExecutor pool = loginExecutor.getThreadPoolExecutor();
+        long done = Math.max(1, completed.sum());
+        return new LoginStats(accepted.sum(), rejected.sum(), failed.sum(), pool.getQueue().size(),
+                pool.getActiveCount(), millis(queueWaitNanos.sum()) / done, millis(maxQueueWaitNanos.get()),
+                millis(verifyNanos.sum()) / done, millis(maxVerifyNanos.get()));
+    }
+
+    /**
+     * Publishes the counters above; reading them happens only on scrape.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("banking.login.accepted", accepted, LongAdder::sum).register(registry);
+        FunctionCounter.builder("banking.login.rejected", rejected, LongAdder::sum)
+                .description("Logins refused with 503 because the login queue was full")
+                .register(registry);
+        FunctionCounter.builder("banking.login.failed", failed, LongAdder::sum).register(registry);
+        FunctionTimer.builder("banking.login.queue.wait", this, s -> s.completed.sum(), s -> s.queueWaitNanos.sum(),
+                TimeUnit.NANOSECONDS).register(registry);
+        FunctionTimer.builder("banking.login.verify", this, s -> s.completed.sum(), s -> s.verifyNanos.sum(),
+                TimeUnit.NANOSECONDS)
+                .description("Authentication on the login pool, dominated by the BCrypt check")
+                .register(registry);
+        Gauge.builder("banking.login.queue.depth", loginExecutor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(registry);
+        Gauge.builder("banking.login.active", loginExecutor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(registry);
+    }
+
+    private String verify(String username, String password, long enqueuedAt) {
+        long startedAt = System.nanoTime();
+        record(queueWaitNanos, maxQueueWaitNanos, startedAt - enqueuedAt);
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password));
+            // The authenticated principal is the user just loaded; no second lookup needed.
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            return jwtUtil.generateToken(userDetails.getUsername());
+        } catch (AuthenticationException e) {
+            failed.increment();
+            throw new CompletionException(new Exception("Invalid username or password", e));
+        } finally {
+            record(verifyNanos, maxVerifyNanos, System.nanoTime() - startedAt);
+            completed.increment();
+        }
+    }
+
+    private static void record(LongAdder total, AtomicLong max, long nanos) {
+        total.add(nanos);
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.banking.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.banking.model.NameMatch;
+import com.example.banking.repository.ClientRepository;
+import com.example.banking.util.NameKeys;
+
+/**
+ * In-memory sorted index of client names for top-K prefix lookups. Entries
+ * are ordered by (name key, id), so the matches for a prefix are one
+ * contiguous range of the skip list. The index is loaded in the background
+ * after startup and kept current from ClientService on create, update and
+ * delete; until it is ready, callers fall back to the database.
+ */
+@Component
+public class NamePrefixIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(NamePrefixIndex.class);
+
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    private final NavigableMap<String, NameMatch> entries = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keyById = new ConcurrentHashMap<>();
+    private final Set<Long> deletedWhileWarming = ConcurrentHashMap.newKeySet();
+    private volatile boolean ready;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Value("${app.search.nameIndex.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.nameIndex.warmupPageSize:10000}")
+    private int warmupPageSize;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return keyById.size();
+    }
+
+    /**
+     * Up to limit clients whose name key starts with the normalized prefix, in name order.
+     */
+    public List<NameMatch> topK(String prefix, int limit) {
+        String prefixKey = NameKeys.normalize(prefix);
+        String upperBound = NameKeys.upperBound(prefixKey);
+        NavigableMap<String, NameMatch> range = upperBound == null ? entries.tailMap(prefixKey, true)
+                : entries.subMap(prefixKey, true, upperBound, false);
+        List<NameMatch> matches = new ArrayList<>(Math.min(limit, 64));
+        for (NameMatch match : range.values()) {
+            if (matches.size() == limit) {
+                break;
+            }
+            matches.add(match);
+        }
+        return matches;
+    }
+
+    /**
+     * Record a created or renamed client once the surrounding transaction
+     * commits; nothing is recorded if it rolls back.
+     */
+    public void onSaved(Long id, String name) {
+        if (enabled) {
+            afterCommit(() -> put(id, name));
+        }
+    }
+
+    /**
+     * Record many created clients once the surrounding transaction commits,
+     * with a single synchronization for all of them.
+     */
+    public void onSaved(Collection<NameMatch> saved) {
+        if (enabled && !saved.isEmpty()) {
+            afterCommit(() -> {
+                for (NameMatch match : saved) {
+                    put(match.getId(), match.getName());
+                }
+            });
+        }
+    }
+
+    /**
+     * Drop a deleted client once the surrounding transaction commits.
+     */
+    public void onDeleted(Long id) {
+        if (enabled) {
+            afterCommit(() -> remove(id));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        Thread loader = new Thread(this::load, "name-index-warmup");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            long afterId = 0;
+            List<NameMatch> page;
+            do {
+                page = clientRepository.findNamesAfterId(afterId, PageRequest.of(0, warmupPageSize));
+                for (NameMatch match : page) {
+                    // Live updates that arrived while warming win over the snapshot.
+                    if (!deletedWhileWarming.contains(match.getId()) && !keyById.containsKey(match.getId())) {
+                        put(match.getId(), match.getName());
+                    }
+                    afterId = match.getId();
+                }
+            } while (page.size() == warmupPageSize);
+            ready = true;
+            deletedWhileWarming.clear();
+            log.info("Name prefix index loaded {} clients in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Name prefix index failed to load, name search stays on the database", e);
+        }
+    }
+
+    private void put(Long id, String name) {
+        String key = NameKeys.normalize(name) + KEY_SEPARATOR + String.format("%019d", id);
+        String previous = keyById.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            entries.remove(previous);
+        }
+        entries.put(key, new NameMatch(id, name));
+    }
+
+    private void remove(Long id) {
+        if (!ready) {
+            deletedWhileWarming.add(id);
+        }
+        String key = keyById.remove(id);
+        if (key != null) {
+            entries.remove(key);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
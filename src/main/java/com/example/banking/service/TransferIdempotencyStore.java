@@ -0,0 +1,162 @@
+package com.example.banking.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.banking.entity.TransferIdempotency;
+import com.example.banking.exception.IdempotencyKeyReusedException;
+import com.example.banking.model.TransferResult;
+import com.example.banking.repository.TransferIdempotencyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.transaction.Transactional;
+
+/**
+ * Dedupe store for transfer Idempotency-Keys, scoped to the principal that
+ * submitted them. Recent keys are answered from a bounded in-memory cache;
+ * older ones, and every key after a restart, from the transfer_idempotency
+ * table by primary key. Keys are retained for
+ * app.transfers.idempotency.retentionHours from the time they were recorded,
+ * after which the same key is treated as new; a cached entry expires at that
+ * same instant however late it was loaded.
+ */
+@Component
+public class TransferIdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferIdempotencyStore.class);
+
+    @Autowired
+    private TransferIdempotencyRepository repository;
+
+    private final Duration retention;
+    private final Cache<TransferIdempotency.Key, TransferIdempotency> recent;
+
+    public TransferIdempotencyStore(@Value("${app.transfers.idempotency.cacheSize:100000}") long cacheSize,
+            @Value("${app.transfers.idempotency.retentionHours:24}") long retentionHours,
+            MeterRegistry meterRegistry) {
+        this.retention = Duration.ofHours(retentionHours);
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<TransferIdempotency.Key, TransferIdempotency>() {
+                    @Override
+                    public long expireAfterCreate(TransferIdempotency.Key key, TransferIdempotency record,
+                            long currentTime) {
+                        return Math.max(0, remaining(record).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TransferIdempotency.Key key, TransferIdempotency record,
+                            long currentTime, long currentDuration) {
+                        return Math.max(0, remaining(record).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterRead(TransferIdempotency.Key key, TransferIdempotency record,
+                            long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recent, "transfer.idempotency");
+    }
+
+    /**
+     * The result recorded for this key, if any. A key reused for a different
+     * transfer is rejected rather than answered with the other transfer's result.
+     */
+    public Optional<TransferResult> find(TransferIdempotency.Key key, Long fromClientId, Long toClientId,
+            BigDecimal amount) {
+        TransferIdempotency record = recent.getIfPresent(key);
+        if (record == null) {
+            Optional<TransferIdempotency> stored = repository.findById(key)
+                    .filter(candidate -> !remaining(candidate).isNegative());
+            if (stored.isEmpty()) {
+                return Optional.empty();
+            }
+            record = stored.get();
+            recent.put(key, record);
+        }
+        if (!record.getFromClientId().equals(fromClientId) || !record.getToClientId().equals(toClientId)
+                || amount == null || record.getAmount().compareTo(amount) != 0) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different transfer");
+        }
+        return Optional.of(new TransferResult(record.getCorrelationId(), record.getFromClientId(),
+                record.getToClientId(), record.getAmount()));
+    }
+
+    /**
+     * Record the key in the caller's transaction. Flushed immediately so a
+     * concurrent request with the same key fails on the primary key here,
+     * before either transaction commits. An expired row for the key that the
+     * purge has not reached yet is deleted first, since find already treats
+     * it as absent.
+     */
+    public void record(TransferIdempotency.Key key, TransferResult result) {
+        deleteExpired(key);
+        TransferIdempotency record = repository.saveAndFlush(new TransferIdempotency(key,
+                result.getCorrelationId(), result.getFromClientId(), result.getToClientId(), result.getAmount()));
+        cacheAfterCommit(List.of(record));
+    }
+
+    /**
+     * Record the keys of a batch in the caller's transaction, with a single
+     * flush. A key already taken fails the flush, like record.
+     */
+    public void recordAll(List<TransferIdempotency> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        for (TransferIdempotency record : records) {
+            deleteExpired(record.getId());
+        }
+        cacheAfterCommit(repository.saveAllAndFlush(records));
+    }
+
+    private void cacheAfterCommit(List<TransferIdempotency> records) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    for (TransferIdempotency record : records) {
+                        recent.put(record.getId(), record);
+                    }
+                }
+            });
+        }
+    }
+
+    private void deleteExpired(TransferIdempotency.Key key) {
+        repository.deleteIfCreatedBefore(key.getPrincipalName(), key.getIdempotencyKey(),
+                Instant.now().minus(retention));
+    }
+
+    private Duration remaining(TransferIdempotency record) {
+        return Duration.between(Instant.now(), record.getCreatedAt().plus(retention));
+    }
+
+    @Scheduled(fixedRateString = "${app.transfers.idempotency.purgeRateMs:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = repository.deleteCreatedBefore(Instant.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} expired transfer idempotency keys", purged);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.example.banking.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.example.banking.entity.TransferIdempotency;
+import com.example.banking.exception.AsyncTransfersDisabledException;
+import com.example.banking.exception.IdempotencyKeyReusedException;
+import com.example.banking.exception.ServiceOverloadedException;
+import com.example.banking.model.AsyncTransferStatus;
+import com.example.banking.model.TransferLegResult;
+import com.example.banking.model.TransferLegStatus;
+import com.example.banking.model.TransferRequest;
+import com.example.banking.model.TransferResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Optional asynchronous transfer path. Requests are routed by sender into
+ * one of N bounded array queues, each drained by a single writer thread.
+ * The writer takes whatever has queued up, to at most maxBatch transfers,
+ * and applies them in submission order as one TransferService.transferBatch
+ * call, so a burst pays for one commit per batch instead of one per transfer.
+ *
+ * Routing by sender keeps every debit of an account on one writer, in
+ * arrival order. Writers still lock rows in the database (in id order, like
+ * every batch) because a recipient may be another writer's sender.
+ *
+ * A batch whose transaction fails is split in halves and each half applied
+ * on its own, down to single transfers, so one bad transfer fails alone
+ * instead of taking the rest of its batch with it.
+ *
+ * Idempotency-Keys share the transfer_idempotency table with synchronous
+ * transfers: a key already recorded is answered at submit time, a key still
+ * queued returns the queued submission, and a batch records the keys of its
+ * applied transfers in its own transaction.
+ */
+@Component
+public class TransferPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferPipeline.class);
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferIdempotencyStore idempotencyStore;
+
+    @Autowired
+    @Qualifier("transferPipelineExecutor")
+    private ThreadPoolTaskExecutor writerExecutor;
+
+    private final boolean enabled;
+    private final int maxBatch;
+    private final List<BlockingQueue<PendingTransfer>> queues = new ArrayList<>();
+    private final ConcurrentMap<TransferIdempotency.Key, PendingTransfer> queuedKeys = new ConcurrentHashMap<>();
+    private final Cache<String, AsyncTransferStatus> statuses;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary batchSize;
+    private final Timer batchCommit;
+    private volatile boolean running;
+
+    public TransferPipeline(@Value("${app.transfers.async.enabled:false}") boolean enabled,
+            @Value("${app.transfers.async.partitions:4}") int partitions,
+            @Value("${app.transfers.async.queueCapacity:10000}") int queueCapacity,
+            @Value("${app.transfers.async.maxBatch:500}") int maxBatch,
+            @Value("${app.transfers.async.statusRetentionMinutes:60}") long statusRetentionMinutes,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.meterRegistry = meterRegistry;
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(1_000_000)
+                .expireAfterWrite(Duration.ofMinutes(statusRetentionMinutes))
+                .build();
+        for (int partition = 0; partition < partitions; partition++) {
+            BlockingQueue<PendingTransfer> queue = new ArrayBlockingQueue<>(queueCapacity);
+            queues.add(queue);
+            Gauge.builder("banking.transfer.pipeline.queue.depth", queue, BlockingQueue::size)
+                    .description("Transfers waiting for a pipeline writer")
+                    .tag("partition", String.valueOf(partition))
+                    .register(meterRegistry);
+        }
+        this.batchSize = DistributionSummary.builder("banking.transfer.pipeline.batch.size")
+                .description("Transfers group-committed per pipeline transaction")
+                .register(meterRegistry);
+        this.batchCommit = Timer.builder("banking.transfer.pipeline.batch.commit")
+                .description("Time to apply and commit one pipeline batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A submitted transfer: its id, for the status URL, and a future that
+     * completes once its batch has committed or failed.
+     */
+    public static class Submission {
+
+        private final String id;
+        private final CompletableFuture<AsyncTransferStatus> completion;
+
+        Submission(String id, CompletableFuture<AsyncTransferStatus> completion) {
+            this.id = id;
+            this.completion = completion;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public CompletableFuture<AsyncTransferStatus> getCompletion() {
+            return completion;
+        }
+    }
+
+    private static class PendingTransfer {
+
+        final TransferIdempotency.Key key;
+        final TransferRequest request;
+        final AsyncTransferStatus pending;
+        final CompletableFuture<AsyncTransferStatus> completion = new CompletableFuture<>();
+
+        PendingTransfer(TransferIdempotency.Key key, TransferRequest request, AsyncTransferStatus pending) {
+            this.key = key;
+            this.request = request;
+            this.pending = pending;
+        }
+    }
+
+    /**
+     * Queue a transfer.
+     */
+    public Submission submit(TransferRequest request) {
+        return submit(null, request);
+    }
+
+    /**
+     * Queue a transfer at most once per idempotency key (null for none). A
+     * key already applied completes at once with the recorded result; a key
+     * still queued returns that submission. Refused with
+     * ServiceOverloadedException when the partition's queue is full.
+     */
+    public Submission submit(TransferIdempotency.Key key, TransferRequest request) {
+        if (!enabled || !running) {
+            throw new AsyncTransfersDisabledException("Asynchronous transfers are not enabled");
+        }
+        String id = UUID.randomUUID().toString();
+        PendingTransfer transfer = new PendingTransfer(key, request, AsyncTransferStatus.pending(id, request));
+        if (key != null) {
+            Optional<AsyncTransferStatus> recorded = recordedStatus(transfer);
+            if (recorded.isPresent()) {
+                meterRegistry.counter("banking.transfers.idempotent.replays").increment();
+                complete(transfer, recorded.get());
+                return new Submission(id, transfer.completion);
+            }
+            PendingTransfer queued = queuedKeys.putIfAbsent(key, transfer);
+            if (queued != null) {
+                if (!sameTransfer(queued.request, request)) {
+                    throw new IdempotencyKeyReusedException("Idempotency-Key was already used for a different transfer");
+                }
+                meterRegistry.counter("banking.transfers.idempotent.replays").increment();
+                return new Submission(queued.pending.getId(), queued.completion);
+            }
+        }
+        statuses.put(id, transfer.pending);
+        BlockingQueue<PendingTransfer> queue = queues.get(partitionOf(request));
+        if (!queue.offer(transfer)) {
+            withdraw(transfer);
+            meterRegistry.counter("banking.transfer.pipeline.rejected").increment();
+            throw new ServiceOverloadedException("Transfer queue is full, retry later");
+        }
+        // A writer only exits once it has seen running false and its queue
+        // empty. If stop came after the check above, the writer may already
+        // be gone; whoever removes the transfer from the queue owns it.
+        if (!running && queue.remove(transfer)) {
+            withdraw(transfer);
+            throw new AsyncTransfersDisabledException("Asynchronous transfers are not enabled");
+        }
+        return new Submission(id, transfer.completion);
+    }
+
+    public Optional<AsyncTransferStatus> getStatus(String id) {
+        return Optional.ofNullable(statuses.getIfPresent(id));
+    }
+
+    /**
+     * Start one writer per partition on the transferPipelineExecutor, which
+     * runs them on virtual threads when those are enabled.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        for (BlockingQueue<PendingTransfer> queue : queues) {
+            writerExecutor.execute(() -> drain(queue));
+        }
+        log.info("Transfer pipeline started with {} writers", queues.size());
+    }
+
+    /**
+     * Stop accepting transfers. The writers finish what is queued; the
+     * writer executor, which is shut down after this bean, waits for them.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    private static boolean sameTransfer(TransferRequest a, TransferRequest b) {
+        return Objects.equals(a.getFromClientId(), b.getFromClientId())
+                && Objects.equals(a.getToClientId(), b.getToClientId())
+                && a.getAmount() != null && b.getAmount() != null && a.getAmount().compareTo(b.getAmount()) == 0;
+    }
+
+    private int partitionOf(TransferRequest request) {
+        Long sender = request.getFromClientId();
+        return sender == null ? 0 : Math.floorMod(Long.hashCode(sender), queues.size());
+    }
+
+    private void drain(BlockingQueue<PendingTransfer> queue) {
+        List<PendingTransfer> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingTransfer first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failQueued(queue);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Fail whatever is still queued when a writer is interrupted, so no
+     * submission waits forever and no key stays queued.
+     */
+    private void failQueued(BlockingQueue<PendingTransfer> queue) {
+        List<PendingTransfer> left = new ArrayList<>();
+        queue.drainTo(left);
+        for (PendingTransfer transfer : left) {
+            complete(transfer, transfer.pending.failed());
+        }
+        if (!left.isEmpty()) {
+            log.warn("Transfer pipeline writer interrupted, failed {} queued transfers", left.size());
+        }
+    }
+
+    private void apply(List<PendingTransfer> batch) {
+        List<TransferRequest> legs = new ArrayList<>(batch.size());
+        List<TransferIdempotency.Key> keys = new ArrayList<>(batch.size());
+        for (PendingTransfer transfer : batch) {
+            legs.add(transfer.request);
+            keys.add(transfer.key);
+        }
+        batchSize.record(batch.size());
+        long start = System.nanoTime();
+        List<TransferLegResult> results;
+        try {
+            results = transferService.transferBatch(legs, keys);
+        } catch (RuntimeException e) {
+            batchCommit.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (batch.size() == 1) {
+                PendingTransfer transfer = batch.get(0);
+                Optional<AsyncTransferStatus> recorded = Optional.empty();
+                if (transfer.key != null) {
+                    try {
+                        // A synchronous request with the same key may have been applied first.
+                        recorded = recordedStatus(transfer);
+                    } catch (IdempotencyKeyReusedException reused) {
+                        // It was, for a different transfer; this one fails.
+                    }
+                }
+                if (recorded.isEmpty()) {
+                    log.error("Transfer pipeline transfer {} failed", transfer.pending.getId(), e);
+                }
+                complete(transfer, recorded.orElseGet(transfer.pending::failed));
+                return;
+            }
+            log.warn("Transfer pipeline batch of {} failed, retrying it in halves", batch.size(), e);
+            meterRegistry.counter("banking.transfer.pipeline.batch.splits").increment();
+            int half = batch.size() / 2;
+            apply(batch.subList(0, half));
+            apply(batch.subList(half, batch.size()));
+            return;
+        }
+        batchCommit.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        for (int i = 0; i < batch.size(); i++) {
+            PendingTransfer transfer = batch.get(i);
+            complete(transfer, transfer.pending.completed(results.get(i)));
+        }
+    }
+
+    /**
+     * The APPLIED status of a transfer whose key is already recorded, if it is.
+     */
+    private Optional<AsyncTransferStatus> recordedStatus(PendingTransfer transfer) {
+        return idempotencyStore.find(transfer.key, transfer.request.getFromClientId(),
+                transfer.request.getToClientId(), transfer.request.getAmount())
+                .map(TransferResult::getCorrelationId)
+                .map(correlationId -> transfer.pending.completed(
+                        new TransferLegResult(0, TransferLegStatus.APPLIED, correlationId)));
+    }
+
+    /**
+     * Undo submit for a transfer that will not be applied. A replay of its
+     * key may already hold the future, so that completes as failed.
+     */
+    private void withdraw(PendingTransfer transfer) {
+        statuses.invalidate(transfer.pending.getId());
+        if (transfer.key != null) {
+            queuedKeys.remove(transfer.key, transfer);
+        }
+        transfer.completion.complete(transfer.pending.failed());
+    }
+
+    private void complete(PendingTransfer transfer, AsyncTransferStatus status) {
+        statuses.put(status.getId(), status);
+        if (transfer.key != null) {
+            queuedKeys.remove(transfer.key, transfer);
+        }
+        transfer.completion.complete(status);
+    }
+}
@@ -0,0 +1,336 @@
+package com.example.banking.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.LedgerEntry;
+import com.example.banking.entity.TransferIdempotency;
+import com.example.banking.exception.InsufficientFundsException;
+import com.example.banking.exception.InvalidTransferException;
+import com.example.banking.exception.ResourceNotFoundException;
+import com.example.banking.model.ClientAccountRef;
+import com.example.banking.model.TransferLegResult;
+import com.example.banking.model.TransferLegStatus;
+import com.example.banking.model.TransferRequest;
+import com.example.banking.model.TransferResult;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.repository.ClientRepository;
+import com.example.banking.util.Money;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.transaction.Transactional;
+
+/**
+ * Moves money between accounts using database row locks. Both balance changes
+ * are single UPDATE statements, and they are always issued in ascending account
+ * id order, so concurrent A->B and B->A transfers lock the rows in the same
+ * order and cannot deadlock. The debit only succeeds if the balance covers the
+ * amount, which keeps balances non-negative without reading them first.
+ * Every applied transfer is also written to the ledger in the same transaction.
+ * Hot accounts (see HotAccountService) are credited on a stripe and swept
+ * before a debit their row cannot cover.
+ */
+@Service
+public class TransferService {
+
+    private static final int IN_LIST_CHUNK = 1000;
+
+    private static final String TRANSFERS = "banking.transfers";
+    private static final String TRANSFER_LEGS = "banking.transfer.legs";
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private AccountCacheInvalidator accountCacheInvalidator;
+
+    @Autowired
+    private TransferIdempotencyStore idempotencyStore;
+
+    @Autowired
+    private HotAccountService hotAccounts;
+
+    @Value("${app.transfers.batchMaxLegs:10000}")
+    private int batchMaxLegs;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer lockWait;
+    private final Timer batchLockWait;
+
+    public TransferService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.lockWait = Timer.builder("banking.transfer.lock.wait")
+                .description("Time spent in the debit/credit updates of a transfer, including row lock waits")
+                .tag("kind", "single")
+                .register(meterRegistry);
+        this.batchLockWait = Timer.builder("banking.transfer.lock.wait")
+                .description("Time spent in the debit/credit updates of a transfer, including row lock waits")
+                .tag("kind", "batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Transfer money between the accounts of two clients.
+     */
+    @Transactional
+    public TransferResult transfer(Long fromClientId, Long toClientId, BigDecimal amount) {
+        return transfer(null, fromClientId, toClientId, amount);
+    }
+
+    /**
+     * Transfer money and, when an idempotency key is given, record the result
+     * under it in the same transaction.
+     */
+    @Transactional
+    public TransferResult transfer(TransferIdempotency.Key idempotencyKey, Long fromClientId, Long toClientId,
+            BigDecimal amount) {
+        try {
+            TransferResult result = doTransfer(fromClientId, toClientId, amount);
+            if (idempotencyKey != null) {
+                idempotencyStore.record(idempotencyKey, result);
+            }
+            meterRegistry.counter(TRANSFERS, "outcome", "success", "exception", "none").increment();
+            return result;
+        } catch (RuntimeException e) {
+            meterRegistry.counter(TRANSFERS, "outcome", "failure", "exception", e.getClass().getSimpleName())
+                    .increment();
+            throw e;
+        }
+    }
+
+    private TransferResult doTransfer(Long fromClientId, Long toClientId, BigDecimal amount) {
+        if (!isValidAmount(amount)) {
+            throw new InvalidTransferException(
+                    "Transfer amount must be positive with at most " + Money.SCALE + " decimal places");
+        }
+        if (fromClientId == null || toClientId == null) {
+            throw new InvalidTransferException("Sender and recipient are required");
+        }
+        if (fromClientId.equals(toClientId)) {
+            throw new InvalidTransferException("Sender and recipient must differ");
+        }
+
+        Long fromAccountId = null;
+        Long toAccountId = null;
+        int fromStripes = 0;
+        int toStripes = 0;
+        List<ClientAccountRef> refs = clientRepository.findAccountRefs(List.of(fromClientId, toClientId));
+        for (ClientAccountRef ref : refs) {
+            if (ref.getClientId().equals(fromClientId)) {
+                fromAccountId = ref.getAccountId();
+                fromStripes = ref.getAccountStripes();
+            } else {
+                toAccountId = ref.getAccountId();
+                toStripes = ref.getAccountStripes();
+            }
+        }
+        if (fromAccountId == null) {
+            throw new ResourceNotFoundException("Sender client not found");
+        }
+        if (toAccountId == null) {
+            throw new ResourceNotFoundException("Recipient client not found");
+        }
+
+        // The two conditional UPDATEs are where the row locks are taken and
+        // waited for, so their duration is the lock wait of a transfer.
+        long lockStart = System.nanoTime();
+        try {
+            if (fromAccountId < toAccountId) {
+                debit(fromAccountId, fromStripes, amount);
+                credit(toAccountId, toStripes, amount);
+            } else {
+                credit(toAccountId, toStripes, amount);
+                debit(fromAccountId, fromStripes, amount);
+            }
+        } finally {
+            lockWait.record(System.nanoTime() - lockStart, TimeUnit.NANOSECONDS);
+        }
+        accountCacheInvalidator.evict(fromAccountId, toAccountId);
+        String correlationId = ledgerService.recordTransfer(fromAccountId, toAccountId, amount);
+        return new TransferResult(correlationId, fromClientId, toClientId, amount);
+    }
+
+    /**
+     * Apply many transfers in one transaction. Every distinct account is locked
+     * once, in ascending id order, the legs are applied in memory in request
+     * order, and the changed balances are flushed as batched UPDATEs on commit.
+     * A leg that cannot be applied is reported and skipped; it does not roll
+     * back the others.
+     */
+    @Transactional
+    public List<TransferLegResult> transferBatch(List<TransferRequest> legs) {
+        return transferBatch(legs, null);
+    }
+
+    /**
+     * Apply a batch of transfers and record the idempotency key of each
+     * applied leg, given by index in idempotencyKeys (null for none), in the
+     * same transaction.
+     */
+    @Transactional
+    public List<TransferLegResult> transferBatch(List<TransferRequest> legs,
+            List<TransferIdempotency.Key> idempotencyKeys) {
+        if (legs.size() > batchMaxLegs) {
+            throw new InvalidTransferException("A batch may contain at most " + batchMaxLegs + " transfers");
+        }
+
+        TreeSet<Long> clientIds = new TreeSet<>();
+        for (TransferRequest leg : legs) {
+            if (leg.getFromClientId() != null && leg.getToClientId() != null) {
+                clientIds.add(leg.getFromClientId());
+                clientIds.add(leg.getToClientId());
+            }
+        }
+        Map<Long, Long> accountIdByClientId = new HashMap<>();
+        TreeSet<Long> hotAccountIds = new TreeSet<>();
+        for (List<Long> chunk : chunks(clientIds)) {
+            for (ClientAccountRef ref : clientRepository.findAccountRefs(chunk)) {
+                if (ref.getAccountId() != null) {
+                    accountIdByClientId.put(ref.getClientId(), ref.getAccountId());
+                    if (ref.getAccountStripes() > 0) {
+                        hotAccountIds.add(ref.getAccountId());
+                    }
+                }
+            }
+        }
+        // The legs work on the locked rows alone, so move stripe money onto
+        // them first. A leg that a hot row cannot cover sweeps again, for
+        // credits that landed on a stripe after this.
+        hotAccounts.sweepSeparately(hotAccountIds);
+        Map<Long, Account> accounts = new HashMap<>();
+        long lockStart = System.nanoTime();
+        for (List<Long> chunk : chunks(new TreeSet<>(accountIdByClientId.values()))) {
+            for (Account account : accountRepository.lockAllInIdOrder(chunk)) {
+                accounts.put(account.getId(), account);
+            }
+        }
+        batchLockWait.record(System.nanoTime() - lockStart, TimeUnit.NANOSECONDS);
+
+        List<TransferLegResult> results = new ArrayList<>(legs.size());
+        List<LedgerEntry> entries = new ArrayList<>();
+        for (int i = 0; i < legs.size(); i++) {
+            TransferLegResult result = applyLeg(i, legs.get(i), accountIdByClientId, accounts, entries);
+            meterRegistry.counter(TRANSFER_LEGS, "status", result.getStatus().name()).increment();
+            results.add(result);
+        }
+        if (idempotencyKeys != null) {
+            List<TransferIdempotency> records = new ArrayList<>();
+            for (int i = 0; i < legs.size(); i++) {
+                TransferRequest leg = legs.get(i);
+                if (idempotencyKeys.get(i) != null && results.get(i).getStatus() == TransferLegStatus.APPLIED) {
+                    records.add(new TransferIdempotency(idempotencyKeys.get(i), results.get(i).getCorrelationId(),
+                            leg.getFromClientId(), leg.getToClientId(), leg.getAmount()));
+                }
+            }
+            idempotencyStore.recordAll(records);
+        }
+        ledgerService.saveAll(entries);
+        return results;
+    }
+
+    private TransferLegResult applyLeg(int index, TransferRequest leg, Map<Long, Long> accountIdByClientId,
+            Map<Long, Account> accounts, List<LedgerEntry> entries) {
+        if (!isValidAmount(leg.getAmount())) {
+            return new TransferLegResult(index, TransferLegStatus.INVALID_AMOUNT, null);
+        }
+        long amount = Money.toMinorUnits(leg.getAmount());
+        TransferLegStatus status = checkLeg(leg, amount, accountIdByClientId, accounts);
+        if (status != TransferLegStatus.APPLIED) {
+            return new TransferLegResult(index, status, null);
+        }
+        Account from = accounts.get(accountIdByClientId.get(leg.getFromClientId()));
+        Account to = accounts.get(accountIdByClientId.get(leg.getToClientId()));
+        from.setBalanceMinorUnits(Money.subtract(from.getBalanceMinorUnits(), amount));
+        to.setBalanceMinorUnits(Money.add(to.getBalanceMinorUnits(), amount));
+        String correlationId = LedgerService.newCorrelationId();
+        entries.addAll(ledgerService.transferEntries(from.getId(), to.getId(), leg.getAmount(), correlationId));
+        return new TransferLegResult(index, status, correlationId);
+    }
+
+    private TransferLegStatus checkLeg(TransferRequest leg, long amount, Map<Long, Long> accountIdByClientId,
+            Map<Long, Account> accounts) {
+        Account from = accounts.get(accountIdByClientId.get(leg.getFromClientId()));
+        Account to = accounts.get(accountIdByClientId.get(leg.getToClientId()));
+        if (from == null || to == null) {
+            return TransferLegStatus.UNKNOWN_ACCOUNT;
+        }
+        if (from == to) {
+            return TransferLegStatus.SAME_ACCOUNT;
+        }
+        if (from.getBalanceMinorUnits() < amount
+                && (from.getStripes() == 0 || hotAccounts.sweepAvailable(from) == 0
+                        || from.getBalanceMinorUnits() < amount)) {
+            return TransferLegStatus.INSUFFICIENT_FUNDS;
+        }
+        return TransferLegStatus.APPLIED;
+    }
+
+    /**
+     * Positive and representable in minor units, so the database and the
+     * in-memory batch arithmetic apply exactly the same amount.
+     */
+    private static boolean isValidAmount(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0) {
+            return false;
+        }
+        try {
+            Money.toMinorUnits(amount);
+            return true;
+        } catch (ArithmeticException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Split ascending ids into IN-list sized chunks, preserving order so locks
+     * are still taken in ascending id order across chunks.
+     */
+    private static List<List<Long>> chunks(TreeSet<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> current = new ArrayList<>(IN_LIST_CHUNK);
+        for (Long id : ids) {
+            current.add(id);
+            if (current.size() == IN_LIST_CHUNK) {
+                chunks.add(current);
+                current = new ArrayList<>(IN_LIST_CHUNK);
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private void debit(Long accountId, int stripes, BigDecimal amount) {
+        if (accountRepository.debit(accountId, amount) == 0) {
+            if (stripes == 0 || hotAccounts.sweep(accountId) == 0 || accountRepository.debit(accountId, amount) == 0) {
+                throw new InsufficientFundsException("Insufficient funds");
+            }
+        }
+    }
+
+    private void credit(Long accountId, int stripes, BigDecimal amount) {
+        if (stripes > 0) {
+            hotAccounts.credit(accountId, stripes, amount);
+        } else {
+            accountRepository.credit(accountId, amount);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.banking.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.banking.entity.MyUser;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA listener on MyUser that evicts the user from CustomUserDetailsService.
+ * The entry is dropped as soon as the change is flushed and again after
+ * commit, so a lookup racing the transaction cannot leave the old row cached.
+ */
+@Component
+public class UserCacheInvalidator {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(MyUser user) {
+        Long id = user.getId();
+        String username = user.getUsername();
+        userDetailsService.evict(id, username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userDetailsService.evict(id, username);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.banking.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Format checks for client contact details, applied after ContactNormalizer.
+ */
+public final class ClientValidation {
+
+    private static final Pattern PHONE_PATTERN = Pattern.compile("^\\d{10}$");
+    private static final String EMAIL_REGEX = "^[\\w-\\.]+@([\\w-]+\\.)+[\\w-]{2,4}$";
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
+
+    private ClientValidation() {
+    }
+
+    public static boolean isValidPhone(String phone) {
+        return phone != null && PHONE_PATTERN.matcher(phone).matches();
+    }
+
+    public static boolean isValidEmail(String email) {
+        return email != null && EMAIL_PATTERN.matcher(email).matches();
+    }
+}
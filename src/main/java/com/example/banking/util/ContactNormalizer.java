@@ -0,0 +1,39 @@
+package com.example.banking.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Canonical form of phones and emails, applied both when they are stored and
+ * when they are looked up so exact-match index probes find them.
+ */
+public final class ContactNormalizer {
+
+    private ContactNormalizer() {
+    }
+
+    public static String phone(String phone) {
+        return phone == null ? null : phone.trim();
+    }
+
+    public static String email(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static List<String> phones(List<String> phones) {
+        List<String> normalized = new ArrayList<>(phones.size());
+        for (String phone : phones) {
+            normalized.add(phone(phone));
+        }
+        return normalized;
+    }
+
+    public static List<String> emails(List<String> emails) {
+        List<String> normalized = new ArrayList<>(emails.size());
+        for (String email : emails) {
+            normalized.add(email(email));
+        }
+        return normalized;
+    }
+}
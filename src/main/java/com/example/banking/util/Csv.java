@@ -0,0 +1,57 @@
+package com.example.banking.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal CSV for client import and export: comma-separated, fields quoted
+ * with doubled quotes inside. Quoted fields may not contain line breaks.
+ */
+public final class Csv {
+
+    private Csv() {
+    }
+
+    public static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * The value as one CSV field, quoted only when it needs to be. Line breaks
+     * become spaces, since a field must stay on its line.
+     */
+    public static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        String field = value.replace('\r', ' ').replace('\n', ' ');
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.banking.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.banking.model.CacheStatsView;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Verifies bearer tokens with a single parse and signature check, and
+ * remembers tokens that verified so repeated requests with the same token
+ * cost one SHA-256 and a cache lookup. Entries are keyed by the token's hash,
+ * never the token itself, and expire no later than the token does.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Timer parseTimer;
+    private final Counter rejected;
+
+    @Autowired
+    public JwtTokenVerifier(JwtUtil jwtUtil,
+            @Value("${app.jwt.cache.maxSize:10000}") long maxSize,
+            @Value("${app.jwt.cache.maxTtlSeconds:900}") long maxTtlSeconds, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        long maxTtlNanos = Duration.ofSeconds(maxTtlSeconds).toNanos();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long untilExpiry = Duration.ofMillis(token.expiresAtMillis - System.currentTimeMillis()).toNanos();
+                        return Math.max(0, Math.min(untilExpiry, maxTtlNanos));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified");
+        this.parseTimer = Timer.builder("banking.jwt.parse")
+                .description("Full parse and signature check of a token not found in the cache")
+                .register(meterRegistry);
+        this.rejected = meterRegistry.counter("banking.jwt.rejected");
+    }
+
+    /**
+     * The subject of a valid, unexpired token, or empty if the token is
+     * malformed, tampered with or expired.
+     */
+    public Optional<String> verify(String token) {
+        String key = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && cached.expiresAtMillis > System.currentTimeMillis()) {
+            return Optional.of(cached.subject);
+        }
+        long start = System.nanoTime();
+        try {
+            // parseClaimsJws checks the signature and rejects expired tokens.
+            Claims claims = jwtUtil.extractAllClaims(token);
+            if (claims.getSubject() == null || claims.getExpiration() == null) {
+                return Optional.empty();
+            }
+            verifiedTokens.put(key, new VerifiedToken(claims.getSubject(), claims.getExpiration().getTime()));
+            return Optional.of(claims.getSubject());
+        } catch (JwtException | IllegalArgumentException e) {
+            rejected.increment();
+            return Optional.empty();
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Hit and miss counts of the verified-token cache since startup.
+     */
+    public CacheStatsView getStats() {
+        return CacheStatsView.of(verifiedTokens);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    static final class VerifiedToken {
+
+        private final String subject;
+        private final long expiresAtMillis;
+
+        VerifiedToken(String subject, long expiresAtMillis) {
+            this.subject = subject;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.util.Date;
 import org.springframework.stereotype.Component;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -16,6 +17,9 @@ public class JwtUtil {
 
     private final Key key = Keys.hmacShaKeyFor("abcksdkiiiiiiiiiiiiiiiskfklsdfksdjfkjsd".getBytes());
 
+    // Parsers are immutable and thread-safe, so one is built up front instead of per call.
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
     public String generateToken(String username) {
         return Jwts.builder()
                 .setSubject(username)
@@ -26,7 +30,7 @@ public class JwtUtil {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String extractUsername(String token) {
@@ -38,7 +42,8 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token, String username) {
-        return (extractUsername(token).equals(username) && !isTokenExpired(token));
+        Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(username) && !claims.getExpiration().before(new Date()));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.example.banking.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point money: amounts are longs counting minor units (cents) at
+ * SCALE decimal places. Arithmetic and comparison work on the longs directly,
+ * so they allocate nothing; overflow throws ArithmeticException instead of
+ * wrapping. BigDecimal is only used at the edges, for JSON and the database.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    /**
+     * Rounding for results that need more than SCALE places. HALF_UP matches
+     * ROUND() on PostgreSQL numeric, so in-memory and set-based interest agree.
+     */
+    public static final RoundingMode ROUNDING = RoundingMode.HALF_UP;
+
+    private static final long[] POWERS_OF_TEN = { 1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L,
+            10_000_000L, 100_000_000L, 1_000_000_000L };
+
+    private Money() {
+    }
+
+    /**
+     * The amount in minor units. Throws ArithmeticException if it has more
+     * than SCALE decimal places or does not fit in a long.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * The amount in minor units, rounded with ROUNDING if it has more than SCALE places.
+     */
+    public static long toMinorUnitsRounded(BigDecimal amount) {
+        return amount.setScale(SCALE, ROUNDING).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * amount * (factor / 10^factorScale), rounded to minor units with ROUNDING.
+     * For example multiply(amount, 105, 2) adds 5%.
+     */
+    public static long multiply(long amount, long factor, int factorScale) {
+        long product = Math.multiplyExact(amount, factor);
+        long divisor = POWERS_OF_TEN[factorScale];
+        long quotient = product / divisor;
+        long remainder = product % divisor;
+        // HALF_UP: round away from zero when the dropped part is at least one half.
+        if (Math.abs(remainder) >= divisor - Math.abs(remainder)) {
+            quotient += Long.signum(product);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.banking.util;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Maps a minor-unit long onto a numeric(38,2) column, so the schema and the
+ * native balance queries stay in decimal while entities hold plain longs.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Long, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long minorUnits) {
+        return minorUnits == null ? null : Money.toBigDecimal(minorUnits);
+    }
+
+    @Override
+    public Long convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : Money.toMinorUnitsRounded(amount);
+    }
+}
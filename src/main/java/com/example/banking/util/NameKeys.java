@@ -0,0 +1,46 @@
+package com.example.banking.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Search key for client names: compatibility-decomposed, accents stripped and
+ * lower-cased, so "Emile" with or without an accent and in any case shares
+ * one key. Keys are compared by character code, both in memory and in the
+ * database, where name_key uses the "C" collation (schema-postgresql.sql).
+ */
+public final class NameKeys {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private NameKeys() {
+    }
+
+    public static String normalize(String name) {
+        if (name == null) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(name.trim(), Normalizer.Form.NFKD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Smallest key greater than every key starting with prefixKey, or null
+     * when there is none. Keys with the prefix are exactly those in
+     * [prefixKey, upperBound).
+     */
+    public static String upperBound(String prefixKey) {
+        StringBuilder bound = new StringBuilder(prefixKey);
+        while (bound.length() > 0) {
+            int last = bound.length() - 1;
+            char c = bound.charAt(last);
+            if (c < Character.MAX_VALUE) {
+                bound.setCharAt(last, (char) (c + 1));
+                return bound.toString();
+            }
+            bound.setLength(last);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,6 @@
+-- Applied after Hibernate creates the tables (spring.jpa.defer-datasource-initialization).
+-- Name prefix search compares name_key by code point, as NameKeys.upperBound and the
+-- in-memory NamePrefixIndex do. The default linguistic collation skips spaces and
+-- punctuation at the first level, so "jo " would miss rows; "C" orders by code point.
+-- Changing the type rebuilds idx_client_name_key with the new collation.
+ALTER TABLE client_details ALTER COLUMN name_key TYPE varchar(255) COLLATE "C";
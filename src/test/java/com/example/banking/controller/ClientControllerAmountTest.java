@@ -0,0 +1,56 @@
+package com.example.banking.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * POST /create with balances that cannot be held in minor units answers 400
+ * with the reason, not 500.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ClientControllerAmountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void subCentBalanceIsRejected() throws Exception {
+        create("amount-subcent", "10.005")
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("at most 2 decimal places")));
+    }
+
+    @Test
+    void balanceBeyondRangeIsRejected() throws Exception {
+        create("amount-range", "100000000000000000000")
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("at most 2 decimal places")));
+    }
+
+    @Test
+    void validBalanceIsAccepted() throws Exception {
+        create("amount-valid", "10.05")
+                .andExpect(status().isCreated());
+    }
+
+    private ResultActions create(String username, String balance) throws Exception {
+        String body = "{\"name\":\"Amount Test\",\"dateOfBirth\":\"1990-01-01\","
+                + "\"emails\":[\"" + username + "@test.example\"],\"phones\":[],"
+                + "\"account\":{\"balance\":" + balance + ",\"initialBalance\":" + balance + "},"
+                + "\"username\":\"" + username + "\",\"password\":\"amount-password\"}";
+        return mockMvc.perform(post("/api/clients/create").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+}
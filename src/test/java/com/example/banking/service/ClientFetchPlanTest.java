@@ -0,0 +1,108 @@
+package com.example.banking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.model.ClientDetail;
+import com.example.banking.model.ClientPage;
+import com.example.banking.model.ClientSearchCriteria;
+import com.example.banking.model.ClientSort;
+import com.example.banking.model.ClientSummary;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Statements prepared per search page and per get-by-id, counted with
+ * Hibernate statistics. Responses are serialized as the controller would,
+ * so lazy loads triggered by Jackson are counted too.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClientFetchPlanTest {
+
+    private static final int CLIENTS = 60;
+    private static final ClientSearchCriteria NO_CRITERIA = new ClientSearchCriteria(null, null, null, null, null);
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private NamePrefixIndex namePrefixIndex;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+    private Long clientId;
+
+    @BeforeAll
+    void seed() throws InterruptedException {
+        // Let the background index warmup finish so its queries are not counted.
+        for (int i = 0; i < 1000 && !namePrefixIndex.isReady(); i++) {
+            Thread.sleep(10);
+        }
+        BigDecimal balance = new BigDecimal("100.00");
+        for (int i = 0; i < CLIENTS; i++) {
+            Client client = new Client("Fetch " + i, new Date(0),
+                    List.of("fetch" + i + "@test.example", "fetch" + i + "@other.example"),
+                    List.of(String.format("%010d", 5_552_000_000L + i), String.format("%010d", 5_553_000_000L + i)),
+                    new Account(balance, balance), "fetch" + i, "fetch-password");
+            Client created = clientService.createClient(client);
+            if (clientId == null) {
+                clientId = created.getId();
+            }
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void searchPageIsOneStatementWhateverItsSize() throws Exception {
+        assertEquals(1, statementsForSearchPage(5));
+        assertEquals(1, statementsForSearchPage(50));
+    }
+
+    @Test
+    void getByIdLoadsClientAccountAndContactsInFixedStatements() throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+        ClientDetail detail = clientService.getClientById(clientId).orElseThrow();
+        objectMapper.writeValueAsString(detail);
+        long cold = statistics.getPrepareStatementCount();
+        assertEquals(2, detail.getPhones().size());
+        assertEquals(2, detail.getEmails().size());
+        // Client with its account, then phones, then emails.
+        assertTrue(cold <= 3, "statements for a cold get-by-id: " + cold);
+
+        statistics.clear();
+        objectMapper.writeValueAsString(clientService.getClientById(clientId).orElseThrow());
+        assertEquals(0, statistics.getPrepareStatementCount(), "statements for a cached get-by-id");
+    }
+
+    private long statementsForSearchPage(int size) throws Exception {
+        statistics.clear();
+        ClientPage<ClientSummary> page = clientService.searchClients(NO_CRITERIA, ClientSort.NAME, null, size);
+        objectMapper.writeValueAsString(page);
+        assertEquals(size, page.getItems().size());
+        return statistics.getPrepareStatementCount();
+    }
+}
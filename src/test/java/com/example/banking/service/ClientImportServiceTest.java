@@ -0,0 +1,49 @@
+package com.example.banking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.banking.model.ClientImportError;
+import com.example.banking.model.ClientImportReport;
+
+/**
+ * A bad NDJSON row is reported on its own line and does not stop the rows
+ * around it from being imported.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ClientImportServiceTest {
+
+    @Autowired
+    private ClientImportService clientImportService;
+
+    @Test
+    void nullRowIsRejectedAndTheRestImported() throws IOException {
+        String body = client("import-null-0") + "\nnull\n" + client("import-null-1") + "\n";
+
+        ClientImportReport report = clientImportService.importClients(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ClientImportService.Format.NDJSON);
+
+        assertEquals(3, report.getRows());
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getFailed());
+        ClientImportError error = report.getErrors().get(0);
+        assertEquals(2, error.getLine());
+        assertEquals("Invalid row: expected a JSON object, got null", error.getMessage());
+    }
+
+    private static String client(String username) {
+        return "{\"name\":\"Import Test\",\"dateOfBirth\":\"1990-01-01\","
+                + "\"emails\":[\"" + username + "@test.example\"],\"phones\":[],"
+                + "\"account\":{\"balance\":10.00,\"initialBalance\":10.00},"
+                + "\"username\":\"" + username + "\",\"password\":\"import-password\"}";
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.banking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.exception.InsufficientFundsException;
+import com.example.banking.repository.AccountRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Credits to a hot account while its stripe count keeps changing. A credit
+ * that picked a stripe which no longer exists lands on the row instead of
+ * failing the transfer, and no money is lost either way.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class HotAccountStripeResizeTest {
+
+    private static final int SENDERS = 8;
+    private static final int ROUNDS = 200;
+    private static final int[] STRIPE_COUNTS = {4, 1, 8, 0, 2};
+    private static final BigDecimal BALANCE = new BigDecimal("100.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private HotAccountService hotAccounts;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void creditsSurviveConcurrentStripeChanges() throws InterruptedException {
+        List<Long> clientIds = new ArrayList<>();
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i <= SENDERS; i++) {
+            Client client = clientService.createClient(new Client("Resize " + i, new Date(0),
+                    List.of("resize" + i + "@test.example"), List.of(String.format("%010d", 5_557_000_000L + i)),
+                    new Account(BALANCE, BALANCE), "resize" + i, "resize-password"));
+            clientIds.add(client.getId());
+            accountIds.add(client.getAccount().getId());
+        }
+        Long hot = clientIds.get(SENDERS);
+        clientService.setAccountStripes(hot, STRIPE_COUNTS[0]);
+        BigDecimal total = totalOf(accountIds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(SENDERS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch sendersDone = new CountDownLatch(SENDERS);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (int s = 0; s < SENDERS; s++) {
+            Long sender = clientIds.get(s);
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        try {
+                            if (round % 4 == 3) {
+                                clientService.transferMoney(hot, sender, AMOUNT);
+                            } else {
+                                clientService.transferMoney(sender, hot, AMOUNT);
+                            }
+                        } catch (InsufficientFundsException e) {
+                            // The hot account may be drained for a moment.
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                } finally {
+                    sendersDone.countDown();
+                }
+            });
+        }
+        executor.execute(() -> {
+            try {
+                start.await();
+                for (int i = 1; sendersDone.getCount() > 0; i++) {
+                    clientService.setAccountStripes(hot, STRIPE_COUNTS[i % STRIPE_COUNTS.length]);
+                }
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "transfers did not finish");
+
+        assertTrue(failures.isEmpty(), () -> "transfers failed: " + failures);
+        entityManagerFactory.getCache().evictAll();
+        assertEquals(0, total.compareTo(totalOf(accountIds)), "total of all balances");
+    }
+
+    private BigDecimal totalOf(List<Long> accountIds) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accountRepository.findAllById(accountIds)) {
+            total = total.add(hotAccounts.balanceOf(account));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.banking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.entity.InterestCheckpoint;
+import com.example.banking.entity.LedgerEntry;
+import com.example.banking.entity.LedgerEntryType;
+import com.example.banking.model.InterestTickReport;
+import com.example.banking.repository.AccountRepository;
+import com.example.banking.repository.InterestCheckpointRepository;
+import com.example.banking.repository.LedgerEntryRepository;
+
+/**
+ * A tick killed halfway through a partition must, once resumed, leave every
+ * account with exactly one interest step and one INTEREST ledger entry.
+ */
+@SpringBootTest(properties = { "app.interest.partitions=1", "app.interest.chunkSize=10" })
+@ActiveProfiles("test")
+class InterestAccrualServiceTest {
+
+    private static final int CLIENTS = 45;
+    private static final int CHUNK_SIZE = 10;
+    private static final int FAILING_CHUNK = 3;
+    private static final BigDecimal BALANCE = new BigDecimal("100.00");
+    private static final BigDecimal ACCRUED = new BigDecimal("105.00");
+
+    @Autowired
+    private InterestAccrualService interestAccrualService;
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private InterestCheckpointRepository checkpointRepository;
+
+    @SpyBean
+    private LedgerService ledgerService;
+
+    @Test
+    void resumedTickAppliesEachChunkExactlyOnce() {
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            Client client = new Client("Interest " + i, new Date(0), List.of("interest" + i + "@test.example"),
+                    List.of(String.format("%010d", 5_551_000_000L + i)), new Account(BALANCE, BALANCE),
+                    "interest" + i, "interest-password");
+            accountIds.add(clientService.createClient(client).getAccount().getId());
+        }
+
+        // Kill the partition inside the transaction of its third chunk.
+        AtomicInteger chunks = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (chunks.incrementAndGet() == FAILING_CHUNK) {
+                throw new IllegalStateException("killed mid-tick");
+            }
+            return invocation.callRealMethod();
+        }).when(ledgerService).recordInterest(anyLong(), anyLong(), anyLong());
+
+        InterestTickReport killed = interestAccrualService.runTick();
+
+        InterestCheckpoint checkpoint = checkpointRepository.findAllByOrderByPartitionNo().get(0);
+        assertFalse(checkpoint.isCompleted());
+        assertEquals(checkpoint.getRangeStart() + (FAILING_CHUNK - 1) * CHUNK_SIZE - 1,
+                checkpoint.getLastAccountId().longValue());
+        long accruedBeforeResume = accountRepository.findAllById(accountIds).stream()
+                .filter(account -> account.getBalance().compareTo(ACCRUED) == 0)
+                .count();
+        assertEquals((FAILING_CHUNK - 1) * CHUNK_SIZE, accruedBeforeResume);
+
+        reset(ledgerService);
+        InterestTickReport resumed = interestAccrualService.runTick();
+
+        assertTrue(resumed.isResumed());
+        assertEquals(killed.getTickId(), resumed.getTickId());
+        assertTrue(checkpointRepository.findAllByOrderByPartitionNo().get(0).isCompleted());
+        for (Account account : accountRepository.findAllById(accountIds)) {
+            assertEquals(0, ACCRUED.compareTo(account.getBalance()), "balance of account " + account.getId());
+        }
+        Map<Long, Integer> interestEntries = new HashMap<>();
+        for (LedgerEntry entry : ledgerEntryRepository.findAll()) {
+            if (entry.getType() == LedgerEntryType.INTEREST) {
+                interestEntries.merge(entry.getAccountId(), 1, Integer::sum);
+            }
+        }
+        for (Long accountId : accountIds) {
+            assertEquals(1, interestEntries.getOrDefault(accountId, 0), "interest entries of account " + accountId);
+        }
+        assertTrue(ledgerService.findDiscrepancies().isEmpty());
+    }
+}
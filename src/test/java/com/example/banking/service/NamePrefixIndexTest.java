@@ -0,0 +1,74 @@
+package com.example.banking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.model.NameMatch;
+
+/**
+ * The name index only learns about clients whose transaction committed, so
+ * a rolled-back create leaves no id behind for name search to return.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class NamePrefixIndexTest {
+
+    private static final BigDecimal BALANCE = new BigDecimal("100.00");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private NamePrefixIndex namePrefixIndex;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void waitForWarmup() throws InterruptedException {
+        for (int i = 0; i < 1000 && !namePrefixIndex.isReady(); i++) {
+            Thread.sleep(10);
+        }
+        assertTrue(namePrefixIndex.isReady());
+    }
+
+    @Test
+    void rolledBackCreateIsNotIndexed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            clientService.createClient(client("Rollback Ghost", 0));
+            assertTrue(namePrefixIndex.topK("rollback ghost", 10).isEmpty(), "indexed before commit");
+            status.setRollbackOnly();
+        });
+
+        assertTrue(namePrefixIndex.topK("rollback ghost", 10).isEmpty());
+    }
+
+    @Test
+    void committedCreateIsIndexed() {
+        Client created = clientService.createClient(client("Committed Name", 1));
+
+        List<NameMatch> matches = namePrefixIndex.topK("committed name", 10);
+        assertEquals(1, matches.size());
+        assertEquals(created.getId(), matches.get(0).getId());
+    }
+
+    private static Client client(String name, int n) {
+        return new Client(name, new Date(0), List.of("index" + n + "@test.example"),
+                List.of(String.format("%010d", 5_554_000_000L + n)), new Account(BALANCE, BALANCE),
+                "index" + n, "index-password");
+    }
+}
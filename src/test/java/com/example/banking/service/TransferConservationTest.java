@@ -0,0 +1,141 @@
+package com.example.banking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.exception.InsufficientFundsException;
+import com.example.banking.model.TransferRequest;
+import com.example.banking.repository.AccountRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Transfers racing in both directions between the same accounts, on the
+ * single-transfer path and in batches, with one hot account taking credits
+ * on its stripes. Money is neither created nor destroyed, no balance goes
+ * negative, and no transfer dies on a deadlock or lock timeout.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class TransferConservationTest {
+
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 200;
+    private static final int STRIPES = 4;
+    private static final BigDecimal BALANCE = new BigDecimal("100.00");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private HotAccountService hotAccounts;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void concurrentTransfersConserveTheTotal() throws InterruptedException {
+        Long[] clientIds = new Long[4];
+        List<Long> accountIds = new ArrayList<>();
+        for (int i = 0; i < clientIds.length; i++) {
+            Client client = clientService.createClient(new Client("Conserve " + i, new Date(0),
+                    List.of("conserve" + i + "@test.example"), List.of(String.format("%010d", 5_555_000_000L + i)),
+                    new Account(BALANCE, BALANCE), "conserve" + i, "conserve-password"));
+            clientIds[i] = client.getId();
+            accountIds.add(client.getAccount().getId());
+        }
+        Long a = clientIds[0];
+        Long b = clientIds[1];
+        Long hot = clientIds[2];
+        Long d = clientIds[3];
+        clientService.setAccountStripes(hot, STRIPES);
+        BigDecimal total = totalOf(accountIds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        BigDecimal amount = randomAmount();
+                        try {
+                            switch ((thread + round) % 5) {
+                                case 0 -> clientService.transferMoney(a, b, amount);
+                                case 1 -> clientService.transferMoney(b, a, amount);
+                                case 2 -> clientService.transferMoney(d, hot, amount);
+                                case 3 -> clientService.transferMoney(hot, a, amount);
+                                default -> clientService.transferBatch(List.of(leg(a, b, amount),
+                                        leg(b, a, randomAmount()), leg(a, hot, randomAmount()),
+                                        leg(hot, d, randomAmount()), leg(d, b, randomAmount())));
+                            }
+                        } catch (InsufficientFundsException e) {
+                            // Expected now and then with balances this small.
+                        }
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES), "transfers did not finish");
+
+        assertTrue(failures.isEmpty(), () -> "transfers failed: " + failures);
+        entityManagerFactory.getCache().evictAll();
+        assertEquals(0, total.compareTo(totalOf(accountIds)), "total of all balances");
+        for (Account account : accountRepository.findAllById(accountIds)) {
+            assertTrue(hotAccounts.balanceOf(account).signum() >= 0, "balance of account " + account.getId());
+            assertTrue(account.getBalance().signum() >= 0, "row balance of account " + account.getId());
+        }
+        assertTrue(ledgerService.findDiscrepancies().isEmpty());
+    }
+
+    private BigDecimal totalOf(List<Long> accountIds) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Account account : accountRepository.findAllById(accountIds)) {
+            total = total.add(hotAccounts.balanceOf(account));
+        }
+        return total;
+    }
+
+    private static BigDecimal randomAmount() {
+        return BigDecimal.valueOf(ThreadLocalRandom.current().nextLong(1, 2_000), 2);
+    }
+
+    private static TransferRequest leg(Long from, Long to, BigDecimal amount) {
+        TransferRequest leg = new TransferRequest();
+        leg.setFromClientId(from);
+        leg.setToClientId(to);
+        leg.setAmount(amount);
+        return leg;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.banking.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.model.TransferResult;
+import com.example.banking.repository.TransferIdempotencyRepository;
+
+/**
+ * With a retention of zero every key has expired by the time it is reused,
+ * and the hourly purge has not run: the reused key must count as new rather
+ * than fail on the row still in the table.
+ */
+@SpringBootTest(properties = "app.transfers.idempotency.retentionHours=0")
+@ActiveProfiles("test")
+class TransferIdempotencyStoreTest {
+
+    private static final BigDecimal BALANCE = new BigDecimal("100.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("10.00");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private TransferIdempotencyRepository idempotencyRepository;
+
+    @Test
+    void expiredKeyNotYetPurgedIsTreatedAsNew() {
+        Long from = createClient(0);
+        Long to = createClient(1);
+
+        TransferResult first = clientService.transferMoney("owner", "expiring-key", from, to, AMOUNT);
+        assertEquals(1, idempotencyRepository.count());
+        TransferResult second = clientService.transferMoney("owner", "expiring-key", from, to, AMOUNT);
+
+        assertNotEquals(first.getCorrelationId(), second.getCorrelationId());
+        assertEquals(1, idempotencyRepository.count());
+        assertEquals(0, new BigDecimal("80.00").compareTo(
+                clientService.getClientById(from).orElseThrow().getBalance()));
+    }
+
+    private Long createClient(int n) {
+        Client client = new Client("Expiry " + n, new Date(0), List.of("expiry" + n + "@test.example"),
+                List.of(String.format("%010d", 5_556_000_000L + n)), new Account(BALANCE, BALANCE),
+                "expiry" + n, "expiry-password");
+        return clientService.createClient(client).getId();
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.banking.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.banking.entity.Account;
+import com.example.banking.entity.Client;
+import com.example.banking.entity.TransferIdempotency;
+import com.example.banking.exception.AsyncTransfersDisabledException;
+import com.example.banking.model.AsyncTransferState;
+import com.example.banking.model.TransferRequest;
+
+/**
+ * Transfers submitted while the pipeline stops are either refused or
+ * completed: none is left queued, waiting forever, after the writers have
+ * exited.
+ */
+@SpringBootTest(properties = "app.transfers.async.enabled=true")
+@ActiveProfiles("test")
+@DirtiesContext
+class TransferPipelineShutdownTest {
+
+    private static final int SUBMITTERS = 8;
+    private static final BigDecimal BALANCE = new BigDecimal("100.00");
+    private static final BigDecimal AMOUNT = new BigDecimal("0.01");
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private TransferPipeline pipeline;
+
+    @Test
+    void submissionsRacingStopAreRefusedOrCompleted() throws Exception {
+        Long from = createClient(0);
+        Long to = createClient(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(SUBMITTERS);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<TransferPipeline.Submission> accepted = new ConcurrentLinkedQueue<>();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (int s = 0; s < SUBMITTERS; s++) {
+            int submitter = s;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; ; i++) {
+                        TransferIdempotency.Key key = new TransferIdempotency.Key("shutdown", submitter + "-" + i);
+                        try {
+                            accepted.add(pipeline.submit(key, transfer(from, to)));
+                        } catch (AsyncTransfersDisabledException e) {
+                            return;
+                        }
+                        Thread.sleep(1);
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+        }
+        start.countDown();
+        Thread.sleep(200);
+        pipeline.stop();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "submitters did not stop");
+        assertTrue(failures.isEmpty(), () -> "submit failed: " + failures);
+        assertFalse(accepted.isEmpty(), "nothing was submitted before stop");
+
+        for (TransferPipeline.Submission submission : accepted) {
+            assertTrue(submission.getCompletion().get(30, TimeUnit.SECONDS).getState() != AsyncTransferState.PENDING,
+                    "submission " + submission.getId() + " still pending");
+        }
+    }
+
+    private Long createClient(int n) {
+        Client client = new Client("Shutdown " + n, new Date(0), List.of("shutdown" + n + "@test.example"),
+                List.of(String.format("%010d", 5_558_000_000L + n)), new Account(BALANCE, BALANCE),
+                "shutdown" + n, "shutdown-password");
+        return clientService.createClient(client).getId();
+    }
+
+    private static TransferRequest transfer(Long from, Long to) {
+        TransferRequest request = new TransferRequest();
+        request.setFromClientId(from);
+        request.setToClientId(to);
+        request.setAmount(AMOUNT);
+        return request;
+    }
+}